@@ -32,8 +32,14 @@ public class Circle {
         return mRadius;
     }
 
-    Rect getBoundingRect() {
-        return new Rect(Math.round(mCenterX - mRadius), Math.round(mCenterY - mRadius),
+    void set(float centerX, float centerY, float radius) {
+        mCenterX = centerX;
+        mCenterY = centerY;
+        mRadius = radius;
+    }
+
+    void getBoundingRect(Rect rect) {
+        rect.set(Math.round(mCenterX - mRadius), Math.round(mCenterY - mRadius),
                 Math.round(mCenterX + mRadius), Math.round(mCenterY + mRadius));
     }
 
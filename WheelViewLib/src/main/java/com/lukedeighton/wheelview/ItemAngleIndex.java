@@ -0,0 +1,144 @@
+package com.lukedeighton.wheelview;
+
+import com.lukedeighton.wheelview.adapter.VariableAngleWheelAdapter;
+
+/**
+ * <p>
+ * Indexes the angles of a {@link VariableAngleWheelAdapter}'s items so that the angle an item
+ * starts at, and the item at an angle, are found in O(log n) rather than by summing the angles
+ * of the items before it.
+ * </p>
+ *
+ * <p>
+ * The start angles are prefix sums held in a Fenwick tree, so changing an item's angle or
+ * appending items only updates O(log n) sums. Inserting or removing items elsewhere shifts every
+ * following item and needs a {@link #rebuild}.
+ * </p>
+ */
+class ItemAngleIndex {
+
+    private float[] mAngles = new float[0];
+
+    //1-based, each entry holds the sum of the angles of the range ending at its index
+    private double[] mTree = new double[1];
+    private int mCount;
+    private float mMaxAngle;
+
+    /**
+     * Indexes the angles of the first count items of the adapter in O(n).
+     */
+    void rebuild(VariableAngleWheelAdapter adapter, int count) {
+        if (mAngles.length < count) {
+            mAngles = new float[count];
+            mTree = new double[count + 1];
+        }
+
+        mMaxAngle = 0f;
+        for (int i = 0; i < count; i++) {
+            mAngles[i] = checkAngle(adapter.getItemAngle(i));
+            mTree[i + 1] = mAngles[i];
+            mMaxAngle = Math.max(mMaxAngle, mAngles[i]);
+        }
+        for (int i = 1; i <= count; i++) {
+            int parent = i + (i & -i);
+            if (parent <= count) mTree[parent] += mTree[i];
+        }
+        mCount = count;
+    }
+
+    /**
+     * Changes the angle of the item at the position.
+     */
+    void set(int position, float angle) {
+        float delta = checkAngle(angle) - mAngles[position];
+        mAngles[position] = angle;
+        mMaxAngle = Math.max(mMaxAngle, angle);
+        for (int i = position + 1; i <= mCount; i += i & -i) {
+            mTree[i] += delta;
+        }
+    }
+
+    /**
+     * Adds an item after the last item.
+     */
+    void append(float angle) {
+        if (mCount == mAngles.length) {
+            int capacity = Math.max(16, mCount * 2);
+            float[] angles = new float[capacity];
+            double[] tree = new double[capacity + 1];
+            System.arraycopy(mAngles, 0, angles, 0, mCount);
+            System.arraycopy(mTree, 0, tree, 0, mCount + 1);
+            mAngles = angles;
+            mTree = tree;
+        }
+
+        //the new entry covers the range below it, which is the difference of two prefix sums
+        int i = ++mCount;
+        mAngles[i - 1] = checkAngle(angle);
+        mTree[i] = angle + sum(i - 1) - sum(i - (i & -i));
+        mMaxAngle = Math.max(mMaxAngle, angle);
+    }
+
+    int getCount() {
+        return mCount;
+    }
+
+    float getAngle(int position) {
+        return mAngles[position];
+    }
+
+    /**
+     * @return the sum of the angles of the items before the position
+     */
+    float getStartAngle(int position) {
+        return (float) sum(position);
+    }
+
+    /**
+     * @return at least the largest item angle, as the largest isn't lowered until the next
+     * {@link #rebuild}
+     */
+    float getMaxAngle() {
+        return mMaxAngle;
+    }
+
+    /**
+     * @return the sum of the angles of every item
+     */
+    float getTotalAngle() {
+        return getStartAngle(mCount);
+    }
+
+    /**
+     * @return the position of the item whose angles contain the angle measured from the start of
+     * the first item, clamped to the first and last items
+     */
+    int findPosition(float angle) {
+        if (angle <= 0f) return 0;
+
+        //descend the tree, keeping the largest position whose start angle is at most the angle
+        int position = 0;
+        double remaining = angle;
+        for (int step = Integer.highestOneBit(Math.max(1, mCount)); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= mCount && mTree[next] <= remaining) {
+                position = next;
+                remaining -= mTree[next];
+            }
+        }
+        return Math.min(position, mCount - 1);
+    }
+
+    private double sum(int count) {
+        double sum = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += mTree[i];
+        }
+        return sum;
+    }
+
+    private static float checkAngle(float angle) {
+        if (!(angle > 0f)) throw new IllegalArgumentException("Item angles must be positive");
+        return angle;
+    }
+}
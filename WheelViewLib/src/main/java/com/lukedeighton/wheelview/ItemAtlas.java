@@ -0,0 +1,249 @@
+package com.lukedeighton.wheelview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffXfermode;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.util.SparseIntArray;
+
+/**
+ * <p>
+ * Rasterises item drawables into slots of a shared bitmap so that all the visible items can be
+ * drawn with a single {@link Canvas#drawBitmapMesh} call. Slots are keyed by adapter position and
+ * the least recently used slot is evicted once the atlas is full.
+ * </p>
+ *
+ * <p>
+ * A bitmap mesh is spread evenly over the bitmap so the slots sit on the even cells of a
+ * (2 * columns - 1) by (2 * rows - 1) grid. Each slot then owns the four vertices around its cell,
+ * and the transparent odd cells are stretched between the items. Each slot keeps a transparent
+ * border so that bitmap filtering doesn't bleed the items into those cells.
+ * </p>
+ */
+class ItemAtlas {
+
+    //the drawables are rasterised larger than the item radius so that scaled up items stay sharp
+    private static final float ITEM_SCALE = 1.25f;
+    private static final int SLOT_PADDING = 2;
+    private static final int MAX_BITMAP_SIZE = 2048;
+
+    private static final int NO_POSITION = Integer.MIN_VALUE;
+
+    private final Paint mPaint = new Paint(Paint.FILTER_BITMAP_FLAG | Paint.ANTI_ALIAS_FLAG);
+    private final Paint mClearPaint = new Paint();
+    private final Rect mSlotBounds = new Rect();
+    private final Rect mDrawableBounds = new Rect();
+
+    private final int mItemRadius;
+    private final int mRequestedCapacity;
+    private final int mSlotSize;
+    private final int mColumns;
+    private final int mRows;
+    private final Bitmap mBitmap;
+    private final Canvas mCanvas;
+
+    private final SparseIntArray mPositionToSlot = new SparseIntArray();
+    private final int[] mSlotPositions;
+    private final int[] mSlotLastUsedFrames;
+    private final float[] mVertices;
+    private int mFrame;
+    private int mQuadCount;
+
+    /**
+     * @param itemRadius the unscaled radius of the items
+     * @param capacity the number of items the atlas should hold, it may hold fewer if the bitmap
+     *                 would otherwise be too large
+     */
+    ItemAtlas(int itemRadius, int capacity) {
+        mItemRadius = itemRadius;
+        mRequestedCapacity = capacity;
+        mSlotSize = (int) Math.ceil(2 * itemRadius * ITEM_SCALE) + 2 * SLOT_PADDING;
+
+        int maxSlots = (MAX_BITMAP_SIZE / mSlotSize + 1) / 2;
+        int columns = Math.min(maxSlots, (int) Math.ceil(Math.sqrt(capacity)));
+        int rows = Math.min(maxSlots, (capacity + columns - 1) / columns);
+        mColumns = Math.max(1, columns);
+        mRows = Math.max(1, rows);
+
+        mBitmap = Bitmap.createBitmap((2 * mColumns - 1) * mSlotSize, (2 * mRows - 1) * mSlotSize, Bitmap.Config.ARGB_8888);
+        mCanvas = new Canvas(mBitmap);
+        mClearPaint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.CLEAR));
+
+        int slotCount = mColumns * mRows;
+        mSlotPositions = new int[slotCount];
+        mSlotLastUsedFrames = new int[slotCount];
+        mVertices = new float[slotCount * 4 * 2];
+        clear();
+    }
+
+    int getItemRadius() {
+        return mItemRadius;
+    }
+
+    /**
+     * @return {@code true} if the atlas was created for the item radius and capacity
+     */
+    boolean isCreatedFor(int itemRadius, int capacity) {
+        return mItemRadius == itemRadius && mRequestedCapacity == capacity;
+    }
+
+    int getCapacity() {
+        return mSlotPositions.length;
+    }
+
+    /**
+     * Starts a new frame where no items are drawn until they are added.
+     */
+    void beginFrame() {
+        mFrame++;
+        mQuadCount = 0;
+    }
+
+    /**
+     * Adds an item to be drawn this frame, rasterising its drawable if it isn't already in the atlas.
+     *
+     * @return {@code false} if there is no room for the item this frame, it must then be drawn directly
+     */
+    boolean addItem(int position, Drawable drawable, Rect bounds) {
+        int slot = mPositionToSlot.get(position, -1);
+        if (slot != -1 && mSlotLastUsedFrames[slot] == mFrame) {
+            //the same adapter position can be visible twice on a repeating wheel
+            return false;
+        }
+
+        if (slot == -1) {
+            slot = findLeastRecentlyUsedSlot();
+            if (slot == -1) return false;
+
+            if (mSlotPositions[slot] != NO_POSITION) {
+                mPositionToSlot.delete(mSlotPositions[slot]);
+            }
+            mSlotPositions[slot] = position;
+            mPositionToSlot.put(position, slot);
+            rasterise(slot, drawable);
+        }
+
+        mSlotLastUsedFrames[slot] = mFrame;
+        setQuad(slot, bounds);
+        mQuadCount++;
+        return true;
+    }
+
+    private int findLeastRecentlyUsedSlot() {
+        int leastRecentSlot = -1;
+        int leastRecentFrame = mFrame;
+        for (int i = 0; i < mSlotPositions.length; i++) {
+            if (mSlotPositions[i] == NO_POSITION) return i;
+
+            if (mSlotLastUsedFrames[i] < leastRecentFrame) {
+                leastRecentFrame = mSlotLastUsedFrames[i];
+                leastRecentSlot = i;
+            }
+        }
+        return leastRecentSlot;
+    }
+
+    private void getSlotBounds(int slot, Rect outRect) {
+        int left = 2 * (slot % mColumns) * mSlotSize;
+        int top = 2 * (slot / mColumns) * mSlotSize;
+        outRect.set(left, top, left + mSlotSize, top + mSlotSize);
+    }
+
+    private void rasterise(int slot, Drawable drawable) {
+        getSlotBounds(slot, mSlotBounds);
+        mCanvas.drawRect(mSlotBounds, mClearPaint);
+        if (drawable == null) return;
+
+        mDrawableBounds.set(mSlotBounds);
+        mDrawableBounds.inset(SLOT_PADDING, SLOT_PADDING);
+        drawable.setBounds(mDrawableBounds);
+        drawable.draw(mCanvas);
+    }
+
+    /**
+     * Positions the slot's vertices so that its drawable area covers the bounds.
+     */
+    private void setQuad(int slot, Rect bounds) {
+        //grow the quad so that the transparent padding is outside of the bounds
+        float scale = (float) SLOT_PADDING / (mSlotSize - 2 * SLOT_PADDING);
+        float padX = bounds.width() * scale;
+        float padY = bounds.height() * scale;
+        float left = bounds.left - padX;
+        float right = bounds.right + padX;
+        float top = bounds.top - padY;
+        float bottom = bounds.bottom + padY;
+
+        int topLeft = getTopLeftIndex(slot);
+        int bottomLeft = topLeft + 2 * mColumns * 2;
+        setVertices(topLeft, left, top, right, top);
+        setVertices(bottomLeft, left, bottom, right, bottom);
+    }
+
+    private void setVertices(int index, float x1, float y1, float x2, float y2) {
+        mVertices[index] = x1;
+        mVertices[index + 1] = y1;
+        mVertices[index + 2] = x2;
+        mVertices[index + 3] = y2;
+    }
+
+    /**
+     * Draws every item added this frame in one call.
+     */
+    void draw(Canvas canvas) {
+        if (mQuadCount == 0) return;
+
+        //slots that aren't drawn this frame are collapsed on to the first vertex
+        float x = 0f, y = 0f;
+        for (int slot = 0; slot < mSlotPositions.length; slot++) {
+            if (mSlotLastUsedFrames[slot] == mFrame) {
+                x = mVertices[getTopLeftIndex(slot)];
+                y = mVertices[getTopLeftIndex(slot) + 1];
+                break;
+            }
+        }
+        for (int slot = 0; slot < mSlotPositions.length; slot++) {
+            if (mSlotLastUsedFrames[slot] != mFrame) {
+                int topLeft = getTopLeftIndex(slot);
+                int bottomLeft = topLeft + 2 * mColumns * 2;
+                setVertices(topLeft, x, y, x, y);
+                setVertices(bottomLeft, x, y, x, y);
+            }
+        }
+
+        canvas.drawBitmapMesh(mBitmap, 2 * mColumns - 1, 2 * mRows - 1, mVertices, 0, null, 0, mPaint);
+    }
+
+    private int getTopLeftIndex(int slot) {
+        int column = slot % mColumns;
+        int row = slot / mColumns;
+        //each row of slots spans two rows of 2 * columns vertices, each vertex is an x and y
+        return (2 * row * 2 * mColumns + 2 * column) * 2;
+    }
+
+    /**
+     * Removes the item so that its drawable is rasterised again the next time it is added.
+     */
+    void evict(int position) {
+        int slot = mPositionToSlot.get(position, -1);
+        if (slot == -1) return;
+
+        mPositionToSlot.delete(position);
+        mSlotPositions[slot] = NO_POSITION;
+    }
+
+    void clear() {
+        mPositionToSlot.clear();
+        for (int i = 0; i < mSlotPositions.length; i++) {
+            mSlotPositions[i] = NO_POSITION;
+            mSlotLastUsedFrames[i] = Integer.MIN_VALUE;
+        }
+    }
+
+    void release() {
+        clear();
+        mBitmap.recycle();
+    }
+}
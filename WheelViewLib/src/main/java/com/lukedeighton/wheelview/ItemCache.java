@@ -0,0 +1,208 @@
+package com.lukedeighton.wheelview;
+
+import android.util.SparseArray;
+
+import com.lukedeighton.wheelview.WheelView.CacheItem;
+
+/**
+ * <p>
+ * Holds the {@link CacheItem}s of the most recently used adapter positions, so that the memory
+ * used by the wheel doesn't grow with the number of items scrolled through.
+ * </p>
+ *
+ * <p>
+ * The items form a linked list from the most to the least recently used. Once there are more
+ * items than the capacity, {@link #trimToCapacity()} evicts the least recently used items.
+ * Items used since the last {@link #beginFrame()} are never evicted, so the cache can
+ * grow past its capacity to hold a single frame.
+ * </p>
+ *
+ * <p>
+ * {@link #invalidateAll()} only moves the cache on to a new generation. Items from an earlier
+ * generation are marked dirty when they are next obtained or peeked at, so invalidating doesn't
+ * depend on the number of items.
+ * </p>
+ */
+class ItemCache {
+
+    private final SparseArray<CacheItem> mItems = new SparseArray<CacheItem>();
+    private CacheItem mHead;
+    private CacheItem mTail;
+    private int mCapacity;
+    private int mFrame;
+    private int mGeneration;
+
+    private int mHitCount;
+    private int mMissCount;
+    private int mEvictionCount;
+
+    ItemCache(int capacity) {
+        setCapacity(capacity);
+    }
+
+    void setCapacity(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("The item cache capacity must be at least 1");
+        mCapacity = capacity;
+    }
+
+    int getCapacity() {
+        return mCapacity;
+    }
+
+    int size() {
+        return mItems.size();
+    }
+
+    void beginFrame() {
+        mFrame++;
+    }
+
+    /**
+     * @return the item at the adapter position, which is created if it isn't cached. It becomes
+     * the most recently used item
+     */
+    CacheItem obtain(int position) {
+        CacheItem item = mItems.get(position);
+        if (item == null) {
+            item = new CacheItem();
+            item.mPosition = position;
+            item.mGeneration = mGeneration;
+            mItems.put(position, item);
+        } else {
+            unlink(item);
+            refresh(item);
+        }
+
+        item.mUsedFrame = mFrame;
+        linkFirst(item);
+        return item;
+    }
+
+    /**
+     * @return {@code true} if the item was obtained since the last {@link #beginFrame()}
+     */
+    boolean isInFrame(CacheItem item) {
+        return item.mUsedFrame == mFrame;
+    }
+
+    /**
+     * @return the item at the adapter position without changing the order of use, or null
+     */
+    CacheItem peek(int position) {
+        CacheItem item = mItems.get(position);
+        if (item != null) refresh(item);
+        return item;
+    }
+
+    /**
+     * Marks every item dirty, see {@link #invalidateAll()}.
+     */
+    void invalidateAll() {
+        mGeneration++;
+    }
+
+    private void refresh(CacheItem item) {
+        if (item.mGeneration != mGeneration) {
+            item.mGeneration = mGeneration;
+            item.mDirty = true;
+        }
+    }
+
+    /**
+     * @return the most recently used item, the rest follow from {@link CacheItem#mNext}
+     */
+    CacheItem getFirst() {
+        return mHead;
+    }
+
+    void trimToCapacity() {
+        while (mItems.size() > mCapacity && mTail != null && mTail.mUsedFrame != mFrame) {
+            CacheItem item = mTail;
+            unlink(item);
+            mItems.remove(item.mPosition);
+            mEvictionCount++;
+        }
+    }
+
+    /**
+     * Removes the items from the start position up to, but not including, the end position.
+     */
+    void removeRange(int start, int end) {
+        CacheItem item = mHead;
+        while (item != null) {
+            CacheItem next = item.mNext;
+            if (item.mPosition >= start && item.mPosition < end) {
+                unlink(item);
+                mItems.remove(item.mPosition);
+            }
+            item = next;
+        }
+    }
+
+    /**
+     * Moves the items at or after the start position by the offset, keeping their order of use.
+     * There must be no items where they are moved to.
+     */
+    void offsetPositions(int start, int offset) {
+        if (offset == 0) return;
+
+        mItems.clear();
+        for (CacheItem item = mHead; item != null; item = item.mNext) {
+            if (item.mPosition >= start) item.mPosition += offset;
+            mItems.put(item.mPosition, item);
+        }
+    }
+
+    void clear() {
+        mItems.clear();
+        mHead = null;
+        mTail = null;
+    }
+
+    void recordHit() {
+        mHitCount++;
+    }
+
+    void recordMiss() {
+        mMissCount++;
+    }
+
+    int getHitCount() {
+        return mHitCount;
+    }
+
+    int getMissCount() {
+        return mMissCount;
+    }
+
+    int getEvictionCount() {
+        return mEvictionCount;
+    }
+
+    private void linkFirst(CacheItem item) {
+        item.mPrevious = null;
+        item.mNext = mHead;
+        if (mHead != null) {
+            mHead.mPrevious = item;
+        } else {
+            mTail = item;
+        }
+        mHead = item;
+    }
+
+    private void unlink(CacheItem item) {
+        if (item.mPrevious != null) {
+            item.mPrevious.mNext = item.mNext;
+        } else {
+            mHead = item.mNext;
+        }
+
+        if (item.mNext != null) {
+            item.mNext.mPrevious = item.mPrevious;
+        } else {
+            mTail = item.mPrevious;
+        }
+        item.mPrevious = null;
+        item.mNext = null;
+    }
+}
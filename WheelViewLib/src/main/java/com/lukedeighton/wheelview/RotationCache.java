@@ -0,0 +1,167 @@
+package com.lukedeighton.wheelview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Picture;
+import android.os.Build;
+
+/**
+ * <p>
+ * Holds the wheel items drawn at a given wheel angle so that later frames can rotate the cached
+ * layer instead of drawing each item again. The cache is keyed by the wheel and adapter positions
+ * of the items that were visible, and needs rebuilding once that set changes.
+ * </p>
+ *
+ * <p>
+ * Hardware accelerated canvases record the items into a {@link Picture} which is replayed
+ * as a display list, otherwise the items are drawn into a {@link Bitmap} centered on the wheel.
+ * </p>
+ */
+class RotationCache {
+
+    private final Paint mBitmapPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+
+    private Picture mPicture;
+    private Bitmap mBitmap;
+    private Canvas mBitmapCanvas;
+    private boolean mIsPicture;
+    private float mBitmapLeft;
+    private float mBitmapTop;
+
+    private float mAngle;
+    private boolean mIsValid;
+    private int[] mKeys = new int[0];
+    private int mKeyCount;
+    private int mBuildKeyCount;
+    private boolean mKeysMatch;
+
+    /**
+     * Starts comparing the visible items of this frame with the cached items.
+     */
+    void beginFrame() {
+        mBuildKeyCount = 0;
+        mKeysMatch = mIsValid;
+    }
+
+    /**
+     * Adds a visible item for this frame.
+     */
+    void addKey(int wheelPosition, int adapterPosition) {
+        int index = mBuildKeyCount * 2;
+        if (index + 1 >= mKeys.length) {
+            int[] keys = new int[Math.max(16, mKeys.length * 2)];
+            System.arraycopy(mKeys, 0, keys, 0, mKeys.length);
+            mKeys = keys;
+        }
+
+        if (mKeysMatch && (mBuildKeyCount >= mKeyCount || mKeys[index] != wheelPosition || mKeys[index + 1] != adapterPosition)) {
+            mKeysMatch = false;
+        }
+
+        mKeys[index] = wheelPosition;
+        mKeys[index + 1] = adapterPosition;
+        mBuildKeyCount++;
+    }
+
+    /**
+     * @return {@code true} if the visible items of this frame differ from the cached ones
+     */
+    boolean requiresRebuild() {
+        return !mKeysMatch || mBuildKeyCount != mKeyCount;
+    }
+
+    /**
+     * @return the wheel position of the visible item at the given index of this frame
+     */
+    int getWheelPosition(int index) {
+        return mKeys[index * 2];
+    }
+
+    int getKeyCount() {
+        return mBuildKeyCount;
+    }
+
+    /**
+     * Starts recording the items at the given wheel angle.
+     *
+     * @param radius the furthest distance any item reaches from the wheel's center
+     * @return the canvas to draw the items on using view coordinates, or null if the layer would be too large
+     */
+    Canvas beginRecording(Canvas canvas, float angle, float centerX, float centerY, float radius, int maxArea) {
+        mAngle = angle;
+        mKeyCount = mBuildKeyCount;
+        mIsValid = false;
+
+        mIsPicture = canvas.isHardwareAccelerated() && Build.VERSION.SDK_INT >= Build.VERSION_CODES.M;
+        if (mIsPicture) {
+            if (mPicture == null) mPicture = new Picture();
+            releaseBitmap();
+            return mPicture.beginRecording(canvas.getWidth(), canvas.getHeight());
+        }
+
+        int size = 2 * (int) Math.ceil(radius);
+        if (size <= 0 || (long) size * size > maxArea) return null;
+
+        if (mBitmap == null || mBitmap.getWidth() < size) {
+            releaseBitmap();
+            mBitmap = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+            mBitmapCanvas = new Canvas(mBitmap);
+        } else {
+            mBitmap.eraseColor(Color.TRANSPARENT);
+        }
+
+        //the bitmap is centered on the wheel so that it can be rotated about its own center
+        mBitmapLeft = centerX - mBitmap.getWidth() / 2f;
+        mBitmapTop = centerY - mBitmap.getHeight() / 2f;
+        mBitmapCanvas.save();
+        mBitmapCanvas.translate(-mBitmapLeft, -mBitmapTop);
+        return mBitmapCanvas;
+    }
+
+    void endRecording() {
+        if (mIsPicture) {
+            mPicture.endRecording();
+        } else {
+            mBitmapCanvas.restore();
+        }
+        mIsValid = true;
+    }
+
+    /**
+     * Draws the cached items rotated from the angle they were recorded at to the given angle.
+     */
+    void draw(Canvas canvas, float angle, float centerX, float centerY) {
+        canvas.save();
+        canvas.rotate(angle - mAngle, centerX, centerY);
+        if (mIsPicture) {
+            canvas.drawPicture(mPicture);
+        } else {
+            canvas.drawBitmap(mBitmap, mBitmapLeft, mBitmapTop, mBitmapPaint);
+        }
+        canvas.restore();
+    }
+
+    void invalidate() {
+        mIsValid = false;
+    }
+
+    boolean isValid() {
+        return mIsValid;
+    }
+
+    void release() {
+        mIsValid = false;
+        mPicture = null;
+        releaseBitmap();
+    }
+
+    private void releaseBitmap() {
+        if (mBitmap != null) {
+            mBitmap.recycle();
+            mBitmap = null;
+            mBitmapCanvas = null;
+        }
+    }
+}
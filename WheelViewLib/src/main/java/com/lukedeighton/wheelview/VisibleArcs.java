@@ -0,0 +1,261 @@
+package com.lukedeighton.wheelview;
+
+/**
+ * <p>
+ * The arcs of a circle that lie within a rectangle, used to find which wheel positions need
+ * drawing without visiting every position. The arcs are computed once per layout and are then
+ * converted into ranges of positions for each frame's wheel angle.
+ * </p>
+ *
+ * <p>
+ * Angles are in degrees and follow the view's coordinate system, so a point on the circle is
+ * at {@code (centerX + radius * cos(angle), centerY + radius * sin(angle))}.
+ * </p>
+ */
+class VisibleArcs {
+
+    //a circle can cross each side of a rectangle at most twice
+    private static final int MAX_CROSSINGS = 8;
+
+    //each arc can be split in two by the wrap of the half turns either side of the center angle
+    static final int MAX_ANGLE_RANGES = MAX_CROSSINGS * 2;
+
+    private final float[] mCrossings = new float[MAX_CROSSINGS];
+    private final float[] mArcStarts = new float[MAX_CROSSINGS];
+    private final float[] mArcSweeps = new float[MAX_CROSSINGS];
+    private int mArcCount;
+    private boolean mIsFullCircle;
+
+    //each arc can become two ranges of wheel positions and each of those can be split in two
+    private final int[] mRangeStarts = new int[MAX_CROSSINGS * 4];
+    private final int[] mRangeEnds = new int[MAX_CROSSINGS * 4];
+    private int mRangeCount;
+
+    private final float[] mAngleRangeStarts = new float[MAX_ANGLE_RANGES];
+    private final float[] mAngleRangeEnds = new float[MAX_ANGLE_RANGES];
+    private int mAngleRangeCount;
+
+    /**
+     * Finds the arcs of the circle that are inside the rectangle.
+     */
+    void update(float centerX, float centerY, float radius, float left, float top, float right, float bottom) {
+        mArcCount = 0;
+        if (radius <= 0f) {
+            mIsFullCircle = isInside(centerX, centerY, left, top, right, bottom);
+            return;
+        }
+
+        int count = 0;
+        count = addCrossings(count, (left - centerX) / radius, true);
+        count = addCrossings(count, (right - centerX) / radius, true);
+        count = addCrossings(count, (top - centerY) / radius, false);
+        count = addCrossings(count, (bottom - centerY) / radius, false);
+
+        if (count == 0) {
+            mIsFullCircle = isInside(centerX + radius, centerY, left, top, right, bottom);
+            return;
+        }
+        mIsFullCircle = false;
+
+        //insertion sort as there are at most 8 crossings
+        float[] crossings = mCrossings;
+        for (int i = 1; i < count; i++) {
+            float value = crossings[i];
+            int j = i - 1;
+            while (j >= 0 && crossings[j] > value) {
+                crossings[j + 1] = crossings[j];
+                j--;
+            }
+            crossings[j + 1] = value;
+        }
+
+        //the circle is either inside or outside between consecutive crossings so test the middle
+        for (int i = 0; i < count; i++) {
+            float start = crossings[i];
+            float end = i + 1 < count ? crossings[i + 1] : crossings[0] + 360f;
+            if (end <= start) continue;
+
+            double mid = Math.toRadians((start + end) / 2f);
+            float x = centerX + radius * (float) Math.cos(mid);
+            float y = centerY + radius * (float) Math.sin(mid);
+            if (isInside(x, y, left, top, right, bottom)) {
+                mArcStarts[mArcCount] = start;
+                mArcSweeps[mArcCount] = end - start;
+                mArcCount++;
+            }
+        }
+    }
+
+    private int addCrossings(int count, float ratio, boolean isVertical) {
+        if (ratio <= -1f || ratio >= 1f) return count;
+
+        if (isVertical) {
+            float angle = (float) Math.toDegrees(Math.acos(ratio));
+            mCrossings[count++] = angle;
+            mCrossings[count++] = 360f - angle;
+        } else {
+            float angle = (float) Math.toDegrees(Math.asin(ratio));
+            mCrossings[count++] = normalize(angle);
+            mCrossings[count++] = normalize(180f - angle);
+        }
+        return count;
+    }
+
+    private static boolean isInside(float x, float y, float left, float top, float right, float bottom) {
+        return x >= left && x <= right && y >= top && y <= bottom;
+    }
+
+    private static float normalize(float angle) {
+        angle %= 360f;
+        return angle < 0f ? angle + 360f : angle;
+    }
+
+    /**
+     * Converts the visible arcs into ranges of indexes into a window of consecutive wheel positions.
+     *
+     * @param firstAngle the angle of wheel position 0
+     * @param itemAngle the angle between consecutive wheel positions
+     * @param itemCount the number of wheel positions
+     * @param firstWheelPosition the wheel position at index 0 of the window
+     * @return the number of ranges, which are sorted and don't overlap
+     */
+    int computeRanges(float firstAngle, float itemAngle, int itemCount, int firstWheelPosition) {
+        mRangeCount = 0;
+        if (mIsFullCircle) {
+            addRange(0, itemCount - 1);
+            return mRangeCount;
+        }
+
+        int lastWheelPosition = itemCount - 1;
+        for (int i = 0; i < mArcCount; i++) {
+            float low = normalize(mArcStarts[i] - firstAngle);
+            float high = low + mArcSweeps[i];
+
+            int start = (int) Math.ceil(low / itemAngle);
+            int end = Math.min(lastWheelPosition, (int) Math.floor(high / itemAngle));
+            addWheelPositionRange(start, end, itemCount, firstWheelPosition);
+
+            if (high >= 360f) {
+                end = Math.min(lastWheelPosition, (int) Math.floor((high - 360f) / itemAngle));
+                addWheelPositionRange(0, end, itemCount, firstWheelPosition);
+            }
+        }
+
+        sortAndMergeRanges();
+        return mRangeCount;
+    }
+
+    private void addWheelPositionRange(int start, int end, int itemCount, int firstWheelPosition) {
+        if (start > end) return;
+
+        int indexStart = Circle.clamp(start - firstWheelPosition, itemCount);
+        int indexEnd = indexStart + end - start;
+        if (indexEnd < itemCount) {
+            addRange(indexStart, indexEnd);
+        } else {
+            addRange(indexStart, itemCount - 1);
+            addRange(0, indexEnd - itemCount);
+        }
+    }
+
+    private void addRange(int start, int end) {
+        mRangeStarts[mRangeCount] = start;
+        mRangeEnds[mRangeCount] = end;
+        mRangeCount++;
+    }
+
+    private void sortAndMergeRanges() {
+        int[] starts = mRangeStarts;
+        int[] ends = mRangeEnds;
+        for (int i = 1; i < mRangeCount; i++) {
+            int start = starts[i];
+            int end = ends[i];
+            int j = i - 1;
+            while (j >= 0 && starts[j] > start) {
+                starts[j + 1] = starts[j];
+                ends[j + 1] = ends[j];
+                j--;
+            }
+            starts[j + 1] = start;
+            ends[j + 1] = end;
+        }
+
+        int count = 0;
+        for (int i = 0; i < mRangeCount; i++) {
+            if (count > 0 && starts[i] <= ends[count - 1] + 1) {
+                ends[count - 1] = Math.max(ends[count - 1], ends[i]);
+            } else {
+                starts[count] = starts[i];
+                ends[count] = ends[i];
+                count++;
+            }
+        }
+        mRangeCount = count;
+    }
+
+    /**
+     * Converts the visible arcs into ranges of angles within half a turn either side of the center
+     * angle, for items that aren't spaced evenly around the wheel.
+     *
+     * @param offsetAngle the angle that angle 0 of the ranges is at
+     * @param centerAngle the angle at the middle of the ranges, before the offset
+     * @return the number of ranges, which are sorted by their start angle
+     */
+    int computeAngleRanges(float offsetAngle, float centerAngle) {
+        mAngleRangeCount = 0;
+        float windowStart = centerAngle - 180f;
+        float windowEnd = centerAngle + 180f;
+        if (mIsFullCircle) {
+            addAngleRange(windowStart, windowEnd);
+            return mAngleRangeCount;
+        }
+
+        for (int i = 0; i < mArcCount; i++) {
+            float low = windowStart + normalize(mArcStarts[i] - offsetAngle - windowStart);
+            float high = low + mArcSweeps[i];
+            addAngleRange(low, Math.min(high, windowEnd));
+            if (high > windowEnd) {
+                addAngleRange(windowStart, high - 360f);
+            }
+        }
+
+        //insertion sort as there are only a few ranges
+        float[] starts = mAngleRangeStarts;
+        float[] ends = mAngleRangeEnds;
+        for (int i = 1; i < mAngleRangeCount; i++) {
+            float start = starts[i];
+            float end = ends[i];
+            int j = i - 1;
+            while (j >= 0 && starts[j] > start) {
+                starts[j + 1] = starts[j];
+                ends[j + 1] = ends[j];
+                j--;
+            }
+            starts[j + 1] = start;
+            ends[j + 1] = end;
+        }
+        return mAngleRangeCount;
+    }
+
+    private void addAngleRange(float start, float end) {
+        mAngleRangeStarts[mAngleRangeCount] = start;
+        mAngleRangeEnds[mAngleRangeCount] = end;
+        mAngleRangeCount++;
+    }
+
+    float getAngleRangeStart(int index) {
+        return mAngleRangeStarts[index];
+    }
+
+    float getAngleRangeEnd(int index) {
+        return mAngleRangeEnds[index];
+    }
+
+    int getRangeStart(int index) {
+        return mRangeStarts[index];
+    }
+
+    int getRangeEnd(int index) {
+        return mRangeEnds[index];
+    }
+}
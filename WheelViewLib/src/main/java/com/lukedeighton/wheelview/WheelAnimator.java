@@ -0,0 +1,156 @@
+package com.lukedeighton.wheelview;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.SystemClock;
+import android.view.Choreographer;
+
+/**
+ * Drives the wheel's animations from the display's frame timing. A frame callback is only
+ * registered whilst the animator is running, so an idle wheel costs nothing.
+ * On devices without a {@link Choreographer} it falls back to posting to a {@link Handler}.
+ */
+abstract class WheelAnimator {
+
+    interface Callback {
+        /**
+         * @param frameTime the time of the frame in nanoseconds, using the {@link System#nanoTime()} time base
+         * @return {@code true} if another frame is required
+         */
+        boolean onAnimationFrame(long frameTime);
+    }
+
+    final Callback mCallback;
+    boolean mIsRunning;
+
+    WheelAnimator(Callback callback) {
+        mCallback = callback;
+    }
+
+    static WheelAnimator create(Callback callback) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            return new ChoreographerAnimator(callback);
+        } else {
+            return new HandlerAnimator(callback);
+        }
+    }
+
+    /**
+     * Requests frames until the callback returns {@code false} or {@link #stop()} is called.
+     * Must be called from a thread with a Looper, typically the UI thread.
+     */
+    void start() {
+        if (mIsRunning) return;
+
+        mIsRunning = true;
+        scheduleFrame();
+    }
+
+    void stop() {
+        if (!mIsRunning) return;
+
+        mIsRunning = false;
+        cancelFrame();
+    }
+
+    boolean isRunning() {
+        return mIsRunning;
+    }
+
+    void doFrame(long frameTime) {
+        if (!mIsRunning) return;
+
+        if (mCallback.onAnimationFrame(frameTime)) {
+            //the callback may have stopped the animator itself
+            if (mIsRunning) scheduleFrame();
+        } else {
+            mIsRunning = false;
+        }
+    }
+
+    /**
+     * Stops the animator and lets go of the thread it was started on, so that it can next be
+     * started on another thread.
+     */
+    void release() {
+        stop();
+    }
+
+    abstract void scheduleFrame();
+
+    abstract void cancelFrame();
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    static class ChoreographerAnimator extends WheelAnimator implements Choreographer.FrameCallback {
+        private Choreographer mChoreographer;
+
+        ChoreographerAnimator(Callback callback) {
+            super(callback);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            super.doFrame(frameTimeNanos);
+        }
+
+        @Override
+        void scheduleFrame() {
+            //the Choreographer is per thread so it is only obtained once it is needed
+            if (mChoreographer == null) {
+                mChoreographer = Choreographer.getInstance();
+            }
+            mChoreographer.postFrameCallback(this);
+        }
+
+        @Override
+        void cancelFrame() {
+            if (mChoreographer != null) {
+                mChoreographer.removeFrameCallback(this);
+            }
+        }
+
+        @Override
+        void release() {
+            super.release();
+            mChoreographer = null;
+        }
+    }
+
+    static class HandlerAnimator extends WheelAnimator implements Runnable {
+        private static final long FRAME_DELAY = 1000 / 60;
+        private static final long NANOS_PER_MILLI = 1000000;
+
+        private Handler mHandler;
+
+        HandlerAnimator(Callback callback) {
+            super(callback);
+        }
+
+        @Override
+        public void run() {
+            doFrame(SystemClock.uptimeMillis() * NANOS_PER_MILLI);
+        }
+
+        @Override
+        void scheduleFrame() {
+            if (mHandler == null) {
+                mHandler = new Handler();
+            }
+            mHandler.postDelayed(this, FRAME_DELAY);
+        }
+
+        @Override
+        void cancelFrame() {
+            if (mHandler != null) {
+                mHandler.removeCallbacks(this);
+            }
+        }
+
+        @Override
+        void release() {
+            super.release();
+            mHandler = null;
+        }
+    }
+}
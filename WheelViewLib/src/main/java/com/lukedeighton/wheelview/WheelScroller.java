@@ -0,0 +1,277 @@
+package com.lukedeighton.wheelview;
+
+import android.view.animation.Interpolator;
+
+import com.lukedeighton.wheelview.physics.DampedSpring;
+import com.lukedeighton.wheelview.physics.WheelPhysics;
+
+/**
+ * Keeps track of a fling or scroll started at a known time so that the wheel's angle can be
+ * evaluated for any frame time. Flings follow the {@link WheelPhysics} whereas scrolls follow
+ * an {@link Interpolator} over a fixed duration. When bounds are set, a fling that leaves them
+ * hands over to a {@link DampedSpring} that pulls the wheel back to the crossed bound.
+ */
+class WheelScroller {
+
+    private static final float NANOS_PER_MILLI = 1000000f;
+
+    private static final int MODE_FLING = 0;
+    private static final int MODE_SCROLL = 1;
+
+    private static final int CROSSING_ITERATIONS = 24;
+    private static final float NO_SPRING = -1f;
+
+    private WheelPhysics mPhysics;
+    private DampedSpring mSpring;
+    private int mMode;
+    private boolean mIsFinished = true;
+    private long mStartTime;
+    private float mStartAngle;
+    private float mCurrAngle;
+    private float mCurrVelocity;
+    private float mCurrTime;
+
+    private float mScrollDelta;
+    private float mScrollDuration;
+    private Interpolator mInterpolator;
+
+    private boolean mHasBounds;
+    private float mMinAngle;
+    private float mMaxAngle;
+    private float mSpringTime = NO_SPRING;
+    private float mSpringAnchor;
+
+    WheelScroller(WheelPhysics physics, DampedSpring spring) {
+        mPhysics = physics;
+        mSpring = spring;
+    }
+
+    void setPhysics(WheelPhysics physics) {
+        abortAnimation();
+        mPhysics = physics;
+    }
+
+    WheelPhysics getPhysics() {
+        return mPhysics;
+    }
+
+    void setSpring(DampedSpring spring) {
+        abortAnimation();
+        mSpring = spring;
+    }
+
+    DampedSpring getSpring() {
+        return mSpring;
+    }
+
+    /**
+     * Limits the angles subsequent flings can come to rest at.
+     */
+    void setBounds(float minAngle, float maxAngle) {
+        mHasBounds = true;
+        mMinAngle = minAngle;
+        mMaxAngle = maxAngle;
+    }
+
+    void clearBounds() {
+        mHasBounds = false;
+    }
+
+    boolean isOutOfBounds(float angle) {
+        return mHasBounds && (angle < mMinAngle || angle > mMaxAngle);
+    }
+
+    /**
+     * @return the distance the angle is past the closest bound, or 0 if it is within bounds
+     */
+    float getOverscroll(float angle) {
+        if (!mHasBounds) return 0f;
+
+        if (angle > mMaxAngle) return angle - mMaxAngle;
+        else if (angle < mMinAngle) return angle - mMinAngle;
+        else return 0f;
+    }
+
+    /**
+     * @param startAngle the wheel's angle at the time of release
+     * @param velocity the angular velocity in degrees per millisecond
+     * @param startTime the time of release in nanoseconds
+     */
+    void fling(float startAngle, float velocity, long startTime) {
+        mPhysics.fling(velocity);
+        mMode = MODE_FLING;
+        mStartTime = startTime;
+        mStartAngle = startAngle;
+        mCurrAngle = startAngle;
+        mCurrVelocity = velocity;
+        updateSpring();
+        mIsFinished = velocity == 0f && mSpringTime == NO_SPRING;
+    }
+
+    /**
+     * Works out whether, and when, the current fling hands over to the spring.
+     */
+    private void updateSpring() {
+        mSpringTime = NO_SPRING;
+        if (!mHasBounds) return;
+
+        float finalAngle = mStartAngle + mPhysics.getFinalAngle();
+        if (!isOutOfBounds(finalAngle)) return;
+
+        mSpringAnchor = finalAngle > mMaxAngle ? mMaxAngle : mMinAngle;
+        float startDisplacement = mStartAngle - mSpringAnchor;
+        if (startDisplacement * (finalAngle - mSpringAnchor) > 0f || startDisplacement == 0f) {
+            //already past the bound that the fling ends beyond
+            mSpringTime = 0f;
+            mSpring.start(startDisplacement, mPhysics.getVelocity(0f));
+        } else {
+            //the angle is monotonic over a fling so the crossing can be found with a bisection
+            float low = 0f, high = mPhysics.getDuration();
+            for (int i = 0; i < CROSSING_ITERATIONS; i++) {
+                float mid = (low + high) / 2f;
+                float displacement = mStartAngle + mPhysics.getAngle(mid) - mSpringAnchor;
+                if (displacement * startDisplacement > 0f) {
+                    low = mid;
+                } else {
+                    high = mid;
+                }
+            }
+            mSpringTime = high;
+            mSpring.start(0f, mPhysics.getVelocity(high));
+        }
+    }
+
+    /**
+     * Evaluates the fling at the given time.
+     *
+     * @param time in nanoseconds
+     * @return {@code true} if the fling was still in progress, the new angle is then
+     * available from {@link #getCurrAngle()}
+     */
+    boolean computeAngle(long time) {
+        if (mIsFinished) return false;
+
+        float elapsed = (time - mStartTime) / NANOS_PER_MILLI;
+        if (mMode == MODE_SCROLL) {
+            computeScrollAngle(elapsed);
+        } else if (mSpringTime != NO_SPRING && elapsed >= mSpringTime) {
+            float springElapsed = elapsed - mSpringTime;
+            if (springElapsed >= mSpring.getDuration()) {
+                mCurrAngle = mSpringAnchor;
+                mCurrVelocity = 0f;
+                mIsFinished = true;
+            } else {
+                mCurrAngle = mSpringAnchor + mSpring.getDisplacement(springElapsed);
+                mCurrVelocity = mSpring.getVelocity(springElapsed);
+            }
+        } else if (elapsed >= mPhysics.getDuration()) {
+            mCurrAngle = mStartAngle + mPhysics.getFinalAngle();
+            mCurrVelocity = 0f;
+            mIsFinished = true;
+        } else {
+            mCurrAngle = mStartAngle + mPhysics.getAngle(elapsed);
+            mCurrVelocity = mPhysics.getVelocity(elapsed);
+        }
+        return true;
+    }
+
+    private void computeScrollAngle(float elapsed) {
+        float angle;
+        if (elapsed >= mScrollDuration) {
+            angle = mStartAngle + mScrollDelta;
+            mCurrVelocity = 0f;
+            mIsFinished = true;
+        } else {
+            if (elapsed < 0f) elapsed = 0f;
+            angle = mStartAngle + mScrollDelta * mInterpolator.getInterpolation(elapsed / mScrollDuration);
+
+            //the interpolator can't be differentiated so estimate the velocity from the last frame
+            float frameTime = elapsed - mCurrTime;
+            mCurrVelocity = frameTime > 0f ? (angle - mCurrAngle) / frameTime : 0f;
+        }
+        mCurrAngle = angle;
+        mCurrTime = elapsed;
+    }
+
+    /**
+     * Starts scrolling the wheel by a given angle over a fixed duration.
+     *
+     * @param startAngle the wheel's current angle
+     * @param deltaAngle the angle to travel, can be negative
+     * @param startTime the start time in nanoseconds
+     * @param duration the duration in milliseconds
+     */
+    void startScroll(float startAngle, float deltaAngle, long startTime, long duration, Interpolator interpolator) {
+        mMode = MODE_SCROLL;
+        mSpringTime = NO_SPRING;
+        mStartTime = startTime;
+        mStartAngle = startAngle;
+        mCurrAngle = startAngle;
+        mCurrVelocity = 0f;
+        mCurrTime = 0f;
+        mScrollDelta = deltaAngle;
+        mScrollDuration = duration;
+        mInterpolator = interpolator;
+        mIsFinished = false;
+    }
+
+    /**
+     * Adjusts the current fling so that it comes to rest at the given absolute angle.
+     *
+     * @see WheelPhysics#setFinalAngle(float)
+     */
+    void setFinalAngle(float finalAngle) {
+        mPhysics.setFinalAngle(finalAngle - mStartAngle);
+        updateSpring();
+    }
+
+    /**
+     * Shifts the current fling or scroll by an angle without changing its motion, for when the
+     * items under the wheel move.
+     */
+    void offsetAngle(float deltaAngle) {
+        mStartAngle += deltaAngle;
+        mCurrAngle += deltaAngle;
+        mSpringAnchor += deltaAngle;
+    }
+
+    void abortAnimation() {
+        mIsFinished = true;
+        mCurrVelocity = 0f;
+    }
+
+    boolean isFinished() {
+        return mIsFinished;
+    }
+
+    float getCurrAngle() {
+        return mCurrAngle;
+    }
+
+    float getCurrVelocity() {
+        return mCurrVelocity;
+    }
+
+    /**
+     * @return the total duration of the current fling or scroll in milliseconds
+     */
+    float getDuration() {
+        if (mMode == MODE_SCROLL) {
+            return mScrollDuration;
+        } else if (mSpringTime != NO_SPRING) {
+            return mSpringTime + mSpring.getDuration();
+        } else {
+            return mPhysics.getDuration();
+        }
+    }
+
+    float getFinalAngle() {
+        if (mMode == MODE_SCROLL) {
+            return mStartAngle + mScrollDelta;
+        } else if (mSpringTime != NO_SPRING) {
+            return mSpringAnchor;
+        } else {
+            return mStartAngle + mPhysics.getFinalAngle();
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package com.lukedeighton.wheelview;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.PixelFormat;
+import android.graphics.PorterDuff;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.Surface;
+import android.view.SurfaceHolder;
+import android.view.SurfaceView;
+
+import com.lukedeighton.wheelview.adapter.WheelAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>
+ * A {@link SurfaceView} that lays out, animates and draws a {@link WheelView} on its own render
+ * thread, so that the wheel keeps moving smoothly whilst the UI thread is busy. It accepts the same
+ * xml attributes as a WheelView.
+ * </p>
+ *
+ * <p>
+ * The hosted wheel must only be used on the render thread, through {@link #queueEvent(WheelEvent)}.
+ * That includes its adapter, whose drawables are fetched and drawn on the render thread. Touch
+ * events are passed to the wheel through a lock-free queue and the listeners are called back on
+ * the UI thread.
+ * </p>
+ */
+public class WheelSurfaceView extends SurfaceView implements SurfaceHolder.Callback {
+
+    /**
+     * Work to run on the render thread with the wheel drawn into the surface.
+     */
+    public interface WheelEvent {
+        void run(WheelView wheelView);
+    }
+
+    private final RenderWheelView mWheelView;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private final List<WheelEvent> mPendingEvents = new ArrayList<WheelEvent>();
+
+    private final ConcurrentLinkedQueue<MotionEvent> mTouchEvents = new ConcurrentLinkedQueue<MotionEvent>();
+    private final AtomicBoolean mIsTouchDrainScheduled = new AtomicBoolean();
+
+    private HandlerThread mRenderThread;
+    private volatile Handler mRenderHandler;
+
+    //only accessed on the render thread
+    private SurfaceHolder mSurfaceHolder;
+    private boolean mIsLaidOut;
+    private boolean mIsRenderScheduled;
+    private boolean mIsFullyDirty;
+    private final Rect mDirtyBounds = new Rect();
+
+    private final Runnable mRender = new Runnable() {
+        @Override
+        public void run() {
+            render();
+        }
+    };
+
+    private final Runnable mDrainTouchEvents = new Runnable() {
+        @Override
+        public void run() {
+            drainTouchEvents();
+        }
+    };
+
+    public WheelSurfaceView(Context context) {
+        this(context, null);
+    }
+
+    public WheelSurfaceView(Context context, AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public WheelSurfaceView(Context context, AttributeSet attrs, int defStyle) {
+        super(context, attrs, defStyle);
+        mWheelView = new RenderWheelView(context, attrs, defStyle);
+        mWheelView.mHost = this;
+
+        //the wheel draws the background into the surface, drawing it here would cover the surface
+        setBackgroundDrawable(null);
+
+        SurfaceHolder holder = getHolder();
+        holder.setFormat(PixelFormat.TRANSLUCENT);
+        holder.addCallback(this);
+    }
+
+    /**
+     * Runs the event on the render thread, once the view is attached to a window. Must be called
+     * from the UI thread.
+     */
+    public void queueEvent(WheelEvent event) {
+        if (mRenderHandler == null) {
+            mPendingEvents.add(event);
+        } else {
+            postWheelEvent(event);
+        }
+    }
+
+    private void postWheelEvent(final WheelEvent event) {
+        mRenderHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                event.run(mWheelView);
+            }
+        });
+    }
+
+    /**
+     * The listener is called on the UI thread, where the WheelView it is given must only be used
+     * through {@link #queueEvent(WheelEvent)}.
+     */
+    public void setOnWheelItemClickListener(final WheelView.OnWheelItemClickListener listener) {
+        final WheelView.OnWheelItemClickListener mainListener = listener == null ? null
+                : new WheelView.OnWheelItemClickListener() {
+            @Override
+            public void onWheelItemClick(final WheelView parent, final int position, final boolean isSelected) {
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onWheelItemClick(parent, position, isSelected);
+                    }
+                });
+            }
+        };
+
+        queueEvent(new WheelEvent() {
+            @Override
+            public void run(WheelView wheelView) {
+                wheelView.setOnWheelItemClickListener(mainListener);
+            }
+        });
+    }
+
+    /**
+     * The listener is called on the UI thread, where the WheelView and Drawable it is given must
+     * only be used through {@link #queueEvent(WheelEvent)}.
+     */
+    public void setOnWheelItemSelectedListener(final WheelView.OnWheelItemSelectListener listener) {
+        final WheelView.OnWheelItemSelectListener mainListener = listener == null ? null
+                : new WheelView.OnWheelItemSelectListener() {
+            @Override
+            public void onWheelItemSelected(final WheelView parent, final Drawable itemDrawable, final int position) {
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onWheelItemSelected(parent, itemDrawable, position);
+                    }
+                });
+            }
+        };
+
+        queueEvent(new WheelEvent() {
+            @Override
+            public void run(WheelView wheelView) {
+                wheelView.setOnWheelItemSelectedListener(mainListener);
+            }
+        });
+    }
+
+    /**
+     * The listener is called on the UI thread.
+     */
+    public void setOnWheelAngleChangeListener(final WheelView.OnWheelAngleChangeListener listener) {
+        final WheelView.OnWheelAngleChangeListener mainListener = listener == null ? null
+                : new WheelView.OnWheelAngleChangeListener() {
+            @Override
+            public void onWheelAngleChange(final float angle) {
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onWheelAngleChange(angle);
+                    }
+                });
+            }
+        };
+
+        queueEvent(new WheelEvent() {
+            @Override
+            public void run(WheelView wheelView) {
+                wheelView.setOnWheelAngleChangeListener(mainListener);
+            }
+        });
+    }
+
+    /**
+     * The listener is called on the UI thread, where the WheelView it is given must only be used
+     * through {@link #queueEvent(WheelEvent)}.
+     */
+    public void setOnWheelFlingListener(final WheelView.OnWheelFlingListener listener) {
+        final WheelView.OnWheelFlingListener mainListener = listener == null ? null
+                : new WheelView.OnWheelFlingListener() {
+            @Override
+            public void onWheelFling(final WheelView parent, final int restPosition, final float restAngle,
+                                     final long duration) {
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onWheelFling(parent, restPosition, restAngle, duration);
+                    }
+                });
+            }
+        };
+
+        queueEvent(new WheelEvent() {
+            @Override
+            public void run(WheelView wheelView) {
+                wheelView.setOnWheelFlingListener(mainListener);
+            }
+        });
+    }
+
+    /**
+     * Sets the adapter on the render thread, which is where its drawables are then fetched.
+     */
+    public void setAdapter(final WheelAdapter adapter) {
+        queueEvent(new WheelEvent() {
+            @Override
+            public void run(WheelView wheelView) {
+                wheelView.setAdapter(adapter);
+            }
+        });
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+
+        mRenderThread = new HandlerThread("WheelSurfaceView");
+        mRenderThread.start();
+        mRenderHandler = new Handler(mRenderThread.getLooper());
+
+        for (WheelEvent event : mPendingEvents) {
+            postWheelEvent(event);
+        }
+        mPendingEvents.clear();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+
+        //the animator lets go of the render thread so that it can be started again on a new one
+        mRenderHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                mWheelView.releaseResources();
+                Looper.myLooper().quit();
+            }
+        });
+        mRenderThread = null;
+        mRenderHandler = null;
+
+        MotionEvent event;
+        while ((event = mTouchEvents.poll()) != null) {
+            event.recycle();
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(@NonNull MotionEvent event) {
+        if (mRenderHandler == null) return false;
+
+        //the event is recycled once this returns so a copy is handed to the render thread
+        mTouchEvents.offer(MotionEvent.obtain(event));
+        if (mIsTouchDrainScheduled.compareAndSet(false, true)) {
+            mRenderHandler.post(mDrainTouchEvents);
+        }
+        return true;
+    }
+
+    private void drainTouchEvents() {
+        mIsTouchDrainScheduled.set(false);
+
+        MotionEvent event;
+        while ((event = mTouchEvents.poll()) != null) {
+            if (mIsLaidOut) mWheelView.onTouchEvent(event);
+            event.recycle();
+        }
+    }
+
+    @Override
+    public void surfaceCreated(final SurfaceHolder holder) {
+        if (mRenderHandler == null) return;
+
+        mRenderHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                mSurfaceHolder = holder;
+            }
+        });
+    }
+
+    @Override
+    public void surfaceChanged(SurfaceHolder holder, int format, final int width, final int height) {
+        if (mRenderHandler == null) return;
+
+        mRenderHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                mWheelView.measure(MeasureSpec.makeMeasureSpec(width, MeasureSpec.EXACTLY),
+                        MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY));
+                mWheelView.layout(0, 0, width, height);
+                mIsLaidOut = true;
+                requestRender(null);
+            }
+        });
+    }
+
+    @Override
+    public void surfaceDestroyed(SurfaceHolder holder) {
+        if (mRenderHandler == null) return;
+
+        //the surface must not be drawn to once this returns
+        final CountDownLatch latch = new CountDownLatch(1);
+        mRenderHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                mSurfaceHolder = null;
+                latch.countDown();
+            }
+        });
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Schedules the wheel to be drawn into the surface on the render thread.
+     *
+     * @param dirty the area to redraw, or null to redraw everything
+     */
+    void requestRender(Rect dirty) {
+        Handler renderHandler = mRenderHandler;
+        if (renderHandler == null) return;
+
+        if (Looper.myLooper() != renderHandler.getLooper()) {
+            //a drawable invalidated itself on another thread
+            renderHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    requestRender(null);
+                }
+            });
+            return;
+        }
+
+        if (dirty == null) {
+            mIsFullyDirty = true;
+        } else {
+            mDirtyBounds.union(dirty);
+        }
+
+        if (!mIsRenderScheduled) {
+            mIsRenderScheduled = true;
+            renderHandler.post(mRender);
+        }
+    }
+
+    private void render() {
+        mIsRenderScheduled = false;
+        if (mSurfaceHolder == null || !mIsLaidOut) return;
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            renderHardware();
+        } else {
+            renderSoftware();
+        }
+        mIsFullyDirty = false;
+        mDirtyBounds.setEmpty();
+    }
+
+    /**
+     * A hardware canvas always redraws the whole surface.
+     */
+    @TargetApi(Build.VERSION_CODES.O)
+    private void renderHardware() {
+        Surface surface = mSurfaceHolder.getSurface();
+        if (!surface.isValid()) return;
+
+        Canvas canvas = surface.lockHardwareCanvas();
+        try {
+            drawWheel(canvas);
+        } finally {
+            surface.unlockCanvasAndPost(canvas);
+        }
+    }
+
+    /**
+     * A software canvas keeps the previous frame outside of the dirty bounds, so only the parts
+     * of the wheel that changed are redrawn.
+     */
+    private void renderSoftware() {
+        Canvas canvas;
+        if (mIsFullyDirty || mDirtyBounds.isEmpty()) {
+            canvas = mSurfaceHolder.lockCanvas();
+        } else {
+            canvas = mSurfaceHolder.lockCanvas(mDirtyBounds);
+        }
+        if (canvas == null) return;
+
+        try {
+            drawWheel(canvas);
+        } finally {
+            mSurfaceHolder.unlockCanvasAndPost(canvas);
+        }
+    }
+
+    private void drawWheel(Canvas canvas) {
+        canvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+        mWheelView.draw(canvas);
+    }
+
+    /**
+     * The wheel drawn into the surface, it isn't attached to a window so its invalidations are
+     * turned into render requests.
+     */
+    private static class RenderWheelView extends WheelView {
+        WheelSurfaceView mHost;
+
+        RenderWheelView(Context context, AttributeSet attrs, int defStyle) {
+            super(context, attrs, defStyle);
+        }
+
+        @Override
+        public void invalidate() {
+            //the host isn't set whilst the wheel is constructed
+            if (mHost != null) mHost.requestRender(null);
+        }
+
+        @Override
+        void invalidateRect(Rect dirty) {
+            if (mHost != null) mHost.requestRender(dirty);
+        }
+    }
+}
@@ -33,19 +33,33 @@ import android.view.MotionEvent;
 import android.view.VelocityTracker;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.animation.DecelerateInterpolator;
+import android.view.animation.Interpolator;
 
+import com.lukedeighton.wheelview.adapter.AsyncWheelAdapter;
+import com.lukedeighton.wheelview.adapter.BaseWheelAdapter;
+import com.lukedeighton.wheelview.adapter.RecyclingWheelAdapter;
+import com.lukedeighton.wheelview.adapter.VariableAngleWheelAdapter;
 import com.lukedeighton.wheelview.adapter.WheelAdapter;
+import com.lukedeighton.wheelview.adapter.WheelAdapterObserver;
+import com.lukedeighton.wheelview.physics.DampedSpring;
+import com.lukedeighton.wheelview.physics.FrictionPhysics;
+import com.lukedeighton.wheelview.physics.WheelPhysics;
+import com.lukedeighton.wheelview.transformer.BatchItemDrawTransformer;
+import com.lukedeighton.wheelview.transformer.BatchItemTransformer;
+import com.lukedeighton.wheelview.transformer.BatchSelectionTransformer;
+import com.lukedeighton.wheelview.transformer.CurveTransformer;
 import com.lukedeighton.wheelview.transformer.FadingSelectionTransformer;
+import com.lukedeighton.wheelview.transformer.RotationInvariantTransformer;
 import com.lukedeighton.wheelview.transformer.ScalingItemTransformer;
 import com.lukedeighton.wheelview.transformer.WheelItemTransformer;
 import com.lukedeighton.wheelview.transformer.WheelSelectionTransformer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 //TODO onWheelItemSelected callback for when the wheel has settled (0 angular velocity), and one when it is passed
-//TODO empty - physics to spring away - prevent movement out from edge
-//TODO sticky selection - always settle on a state that completely selects an item
 //TODO circular clip option?
 //TODO Saving State during screen rotate etc. SavedState extends BaseSavedState
 //TODO can items be rendered as views or use recyclerView - use viewgroup?
@@ -53,17 +67,44 @@ import java.util.List;
 //TODO option to get wheel state (either flinging or dragging)
 //TODO item radius works separately ? uses min angle etc. to figure out in the layout event
 //TODO setWheelVelocity method
-//TODO util method to animate to a wheel position?
 
 public class WheelView extends View {
 
-    private static final Rect sTempRect = new Rect();
+    /**
+     * Returned by {@link #findPositionAt(float, float)} when there isn't an item at the point
+     */
+    public static final int NO_POSITION = -1;
 
-    private static final float VELOCITY_FRICTION_COEFFICIENT = 0.015f;
-    private static final float CONSTANT_FRICTION_COEFFICIENT = 0.0028f;
     private static final float ANGULAR_VEL_COEFFICIENT = 22f;
     private static final float MAX_ANGULAR_VEL = 0.3f;
 
+    //the time in milliseconds a slowly released sticky wheel takes to settle on an item
+    private static final float STICKY_SETTLE_DURATION = 250f;
+
+    //long smooth scrolls jump to within this many degrees of the target before animating so that
+    //the adapter isn't asked for every drawable along the way
+    private static final float MAX_SMOOTH_SCROLL_ANGLE = 2 * 360f;
+    private static final Interpolator DEFAULT_SCROLL_INTERPOLATOR = new DecelerateInterpolator();
+
+    //items are culled once their center is further than this many item radii outside of the view,
+    //leaving room for transformers that scale up the item bounds. A CurveTransformer can scale
+    //items further, so its own max scale is used when larger
+    private static final float CULLING_ITEM_RADIUS_SCALE = 1.5f;
+
+    //the rotation cache isn't used if its bitmap would be larger than this many view areas
+    private static final int MAX_ROTATION_CACHE_VIEW_AREAS = 2;
+
+    //how far past the first or last item a non-repeatable wheel can be dragged, in item angles
+    private static final float MAX_OVERSCROLL_ITEMS = 1f;
+
+    //the number of items past the far edge of the wheel that an AsyncWheelAdapter loads ahead
+    private static final int PREFETCH_ITEM_COUNT = 4;
+
+    //the number of adapter drawables kept once they are no longer drawn
+    private static final int DEFAULT_ITEM_CACHE_CAPACITY = 64;
+
+    private static final float SQRT_2 = (float) Math.sqrt(2);
+
     private static final int LEFT_MASK = 0x01;
     private static final int RIGHT_MASK = 0x02;
     private static final int TOP_MASK = 0x04;
@@ -91,26 +132,37 @@ public class WheelView extends View {
 
     private static final float CLICK_MAX_DRAGGED_ANGLE = 0.7f;
 
-    private static final CacheItem EMPTY_CACHE_ITEM = new CacheItem(true);
+    //touch prediction looks ahead by the time since the touch sample plus a frame, up to a limit
+    private static final float PREDICTION_FRAME_TIME = 1000f / 60f;
+    private static final float MAX_PREDICTION_TIME = 25f;
+    private static final float PREDICTION_VELOCITY_SMOOTHING = 0.5f;
+
+    //per instance as a WheelSurfaceView draws on its own thread
+    private final Rect mTempRect = new Rect();
+    private final CacheItem mEmptyCacheItem = new CacheItem(true);
 
     private VelocityTracker mVelocityTracker;
     private Vector mForceVector = new Vector();
     private Vector mRadiusVector = new Vector();
+    private WheelScroller mScroller;
+    private WheelAnimator mAnimator;
     private float mAngle;
-    private float mAngularVelocity;
-    private long mLastUpdateTime;
-    private boolean mRequiresUpdate;
     private int mRawSelectedPosition;
     private float mLastWheelTouchX;
     private float mLastWheelTouchY;
 
-    private CacheItem[] mItemCacheArray;
+    private final ItemCache mItemCache = new ItemCache(DEFAULT_ITEM_CACHE_CAPACITY);
     private Drawable mWheelDrawable;
     private Drawable mEmptyItemDrawable;
     private Drawable mSelectionDrawable;
 
     private boolean mIsRepeatable;
     private boolean mIsWheelDrawableRotatable = true;
+    private boolean mIsStickySelection;
+    private boolean mIsRotationCacheEnabled;
+    private RotationCache mRotationCache;
+    private boolean mIsItemAtlasEnabled;
+    private ItemAtlas mItemAtlas;
 
     /**
      * The item angle is the angle covered per item on the wheel and is in degrees.
@@ -142,32 +194,101 @@ public class WheelView extends View {
     private int mWheelPosition;
     private int mLeft, mTop, mWidth, mHeight;
     private Rect mViewBounds = new Rect();
+
+    //the part of the view the wheel and its items can be drawn in, redrawn when the wheel changes
+    private final Rect mWheelDirtyBounds = new Rect();
+    private final Rect mSelectionDirtyBounds = new Rect();
+    private final Rect mItemDirtyBounds = new Rect();
+    private int mDrawFrame;
+
+    private final ItemBatch mItemBatch = new ItemBatch();
     private Circle mWheelBounds;
+    private VisibleArcs mVisibleArcs = new VisibleArcs();
+    private float mCullingItemScale = CULLING_ITEM_RADIUS_SCALE;
 
     /**
-     * Wheel item bounds are always pre-rotation and based on the {@link #mSelectionAngle}
+     * Wheel item bounds are always pre-rotation and based on the {@link #mSelectionAngle}. The
+     * arrays only grow so that laying out the items again doesn't allocate
      */
-    private List<Circle> mWheelItemBounds;
+    private float[] mItemCenterX = new float[0];
+    private float[] mItemCenterY = new float[0];
+    private float[] mItemRadii = new float[0];
 
     /**
-     * The ItemState contain the rotated position
+     * The ItemState contain the rotated position, only the first {@link #mItemStateCount} are
+     * in use, the rest are pooled
      */
-    private List<ItemState> mItemStates;
+    private ItemState[] mItemStates;
+    private int mItemStateCount;
+
+    //the ranges of raw positions of the visible variable angle items, and their first item state
+    private final int[] mItemStateRangeStarts = new int[VisibleArcs.MAX_ANGLE_RANGES];
+    private final int[] mItemStateRangeEnds = new int[VisibleArcs.MAX_ANGLE_RANGES];
+    private final int[] mItemStateRangeOffsets = new int[VisibleArcs.MAX_ANGLE_RANGES];
+    private int mItemStateRangeCount;
     private int mAdapterItemCount;
 
+    /**
+     * The start angles of a {@link VariableAngleWheelAdapter}'s items, otherwise null when every
+     * item takes up the {@link #mItemAngle}
+     */
+    private ItemAngleIndex mItemAngleIndex;
+    private final WheelAdapterObserver mAdapterObserver = new WheelAdapterObserver() {
+        @Override
+        public void onChanged() {
+            mAdapterItemCount = mAdapter.getCount();
+            rebuildItemAngleIndex();
+            updateScrollerBounds();
+            springIntoBounds();
+            updateSelectedPosition();
+            invalidateWheelItemDrawables();
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            if (mItemAngleIndex != null) updateItemAngles(positionStart, positionStart + itemCount);
+            invalidateWheelItemDrawables(positionStart, positionStart + itemCount);
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            moveWheelItems(positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            moveWheelItems(positionStart, -itemCount);
+        }
+    };
+
     private boolean mIsDraggingWheel;
     private float mLastTouchAngle;
     private ItemState mClickedItem;
     private float mDraggedAngle;
+    private float mLastDraggedAngle;
+    private long mLastDragTime;
+    private boolean mIsTouchPredictionEnabled;
+    private float mDragVelocity;
+
+    //the wheel is drawn this far ahead of mAngle, decaying from the prediction made at the last sample
+    private float mPredictedAngle;
+    private float mSamplePredictedAngle;
 
     private OnWheelItemClickListener mOnItemClickListener;
     private OnWheelAngleChangeListener mOnAngleChangeListener;
     private OnWheelItemSelectListener mOnItemSelectListener;
     private OnWheelItemVisibilityChangeListener mOnItemVisibilityChangeListener;
+    private OnWheelFlingListener mOnFlingListener;
     private WheelItemTransformer mItemTransformer;
     private WheelSelectionTransformer mSelectionTransformer;
     private WheelAdapter mAdapter;
 
+    /**
+     * The concentric rings drawn and touched through this wheel, see {@link #addRing()}
+     */
+    private final List<WheelView> mRings = new ArrayList<WheelView>();
+    private WheelView mTouchedRing;
+
     public WheelView(Context context) {
         super(context);
         initWheelView();
@@ -219,6 +340,12 @@ public class WheelView extends View {
         mSelectionPadding = a.getDimensionPixelSize(R.styleable.WheelView_selectionPadding, 0);
         mIsRepeatable = a.getBoolean(R.styleable.WheelView_repeatItems, false);
         mIsWheelDrawableRotatable = a.getBoolean(R.styleable.WheelView_rotatableWheelDrawable, true);
+        mIsStickySelection = a.getBoolean(R.styleable.WheelView_stickySelection, false);
+        if (a.hasValue(R.styleable.WheelView_overscrollStiffness) || a.hasValue(R.styleable.WheelView_overscrollDampingRatio)) {
+            float stiffness = a.getFloat(R.styleable.WheelView_overscrollStiffness, DampedSpring.DEFAULT_STIFFNESS);
+            float dampingRatio = a.getFloat(R.styleable.WheelView_overscrollDampingRatio, DampedSpring.DEFAULT_DAMPING_RATIO);
+            setOverscrollSpring(stiffness, dampingRatio);
+        }
         mSelectionAngle = a.getFloat(R.styleable.WheelView_selectionAngle, 0f);
         setWheelRadius(a.getLayoutDimension(R.styleable.WheelView_wheelRadius, 0 /* TODO Wrap_content */));
         mOffsetX = a.getDimensionPixelSize(R.styleable.WheelView_wheelOffsetX, 0);
@@ -256,6 +383,11 @@ public class WheelView extends View {
             mSelectionTransformer = validateAndInstantiate(selectionTransformerStr, WheelSelectionTransformer.class);
         }
 
+        String physicsStr = a.getString(R.styleable.WheelView_wheelPhysics);
+        if (physicsStr != null) {
+            mScroller.setPhysics(validateAndInstantiate(physicsStr, WheelPhysics.class));
+        }
+
         mWheelPadding = a.getDimensionPixelSize(R.styleable.WheelView_wheelPadding, 0);
 
         mWheelPosition = a.getInt(R.styleable.WheelView_wheelPosition, 0);
@@ -323,6 +455,13 @@ public class WheelView extends View {
         //TODO I only really need to init with default values if there are non defined from attributes...
         mItemTransformer = new ScalingItemTransformer();
         mSelectionTransformer = new FadingSelectionTransformer();
+        mScroller = new WheelScroller(new FrictionPhysics(), new DampedSpring());
+        mAnimator = WheelAnimator.create(new WheelAnimator.Callback() {
+            @Override
+            public boolean onAnimationFrame(long frameTime) {
+                return updateWheelState(frameTime);
+            }
+        });
     }
 
     public interface OnWheelItemClickListener {
@@ -390,12 +529,50 @@ public class WheelView extends View {
         return mOnAngleChangeListener;
     }
 
+    /**
+     * A listener for when the wheel is flung, useful to start loading the items around where
+     * the wheel will come to rest.
+     */
+    public interface OnWheelFlingListener {
+        /**
+         * Receive a callback when the wheel is released with some velocity.
+         *
+         * @param parent WheelView that calls this listener
+         * @param restPosition the adapter position that will be selected once the wheel comes to rest,
+         *                     see {@link #isEmptyItemPosition(int)}
+         * @param restAngle the angle the wheel will come to rest at
+         * @param duration the time in milliseconds until the wheel comes to rest
+         */
+        void onWheelFling(WheelView parent, int restPosition, float restAngle, long duration);
+    }
+
+    public void setOnWheelFlingListener(OnWheelFlingListener listener) {
+        mOnFlingListener = listener;
+    }
+
+    public OnWheelFlingListener getOnWheelFlingListener() {
+        return mOnFlingListener;
+    }
+
     public void setAdapter(WheelAdapter wheelAdapter) {
+        if (mAdapter instanceof BaseWheelAdapter) {
+            ((BaseWheelAdapter) mAdapter).unregisterObserver(mAdapterObserver);
+            ((BaseWheelAdapter) mAdapter).onDetachedFromWheel(this);
+        }
         mAdapter = wheelAdapter;
+        if (wheelAdapter instanceof BaseWheelAdapter) {
+            ((BaseWheelAdapter) wheelAdapter).onAttachedToWheel(this);
+            ((BaseWheelAdapter) wheelAdapter).registerObserver(mAdapterObserver);
+        }
         int count = mAdapter.getCount();
-        mItemCacheArray = new CacheItem[count];
+        mItemCache.clear();
         mAdapterItemCount = count;
-        invalidate();
+        rebuildItemAngleIndex();
+        updateSelectedPosition();
+        dispatchSelectionToAdapter();
+        invalidateRotationCache();
+        if (mItemAtlas != null) mItemAtlas.clear();
+        invalidateWheel();
     }
 
     public WheelAdapter getAdapter() {
@@ -404,13 +581,145 @@ public class WheelView extends View {
 
     public void setWheelItemTransformer(WheelItemTransformer itemTransformer) {
         if (itemTransformer == null) throw new IllegalArgumentException("WheelItemTransformer cannot be null");
+        if (mItemTransformer instanceof BatchItemDrawTransformer && !(itemTransformer instanceof BatchItemDrawTransformer)) {
+            resetItemAlphas();
+        }
         mItemTransformer = itemTransformer;
+        invalidateRotationCache();
+    }
+
+    /**
+     * Restores the alpha of the cached drawables after a {@link BatchItemDrawTransformer} has changed it.
+     */
+    private void resetItemAlphas() {
+        for (CacheItem cacheItem = mItemCache.getFirst(); cacheItem != null; cacheItem = cacheItem.mNext) {
+            if (cacheItem.mDrawable != null) cacheItem.mDrawable.setAlpha(255);
+        }
+        if (mEmptyItemDrawable != null) mEmptyItemDrawable.setAlpha(255);
+    }
+
+    /**
+     * <p> When the item transformer is a {@link RotationInvariantTransformer} the items are drawn once
+     * into a cached layer which is then rotated with the wheel. The layer is only redrawn when the
+     * visible adapter positions change or an item is invalidated.
+     * <p> The item drawables rotate with the layer rather than staying upright, so only enable this
+     * for items that look the same at any angle, such as circles, and not for text. Don't enable it
+     * if the adapter's drawables animate themselves. The default value is false
+     */
+    public void setRotationCacheEnabled(boolean isEnabled) {
+        mIsRotationCacheEnabled = isEnabled;
+        if (!isEnabled && mRotationCache != null) {
+            mRotationCache.release();
+            mRotationCache = null;
+        }
+        invalidateWheel();
+    }
+
+    /**
+     * @return {@code true} if rotation invariant items can be drawn from a cached layer.
+     */
+    public boolean isRotationCacheEnabled() {
+        return mIsRotationCacheEnabled;
+    }
+
+    /**
+     * <p> Sets the number of adapter drawables that are kept, so that the memory used doesn't grow
+     * as more of a large adapter is scrolled through. The least recently drawn drawables are released
+     * first, and are fetched from the adapter again if they are needed. The drawables of the items
+     * drawn in a single frame are always kept.
+     * <p> The default value is 64
+     */
+    public void setItemCacheCapacity(int capacity) {
+        mItemCache.setCapacity(capacity);
+        mItemCache.trimToCapacity();
+    }
+
+    public int getItemCacheCapacity() {
+        return mItemCache.getCapacity();
+    }
+
+    /**
+     * @return the number of times a drawable was found in the item cache
+     */
+    public int getItemCacheHitCount() {
+        return mItemCache.getHitCount();
+    }
+
+    /**
+     * @return the number of times a drawable had to be fetched from the adapter
+     */
+    public int getItemCacheMissCount() {
+        return mItemCache.getMissCount();
+    }
+
+    /**
+     * @return the number of drawables released to keep the item cache within its capacity
+     */
+    public int getItemCacheEvictionCount() {
+        return mItemCache.getEvictionCount();
+    }
+
+    /**
+     * <p> When enabled the item drawables are rasterised into a shared bitmap which is drawn with a
+     * single call per frame, instead of drawing each drawable. A drawable is only rasterised again
+     * once its item is invalidated. Items drawn from the rotation cache don't use the atlas.
+     * <p> Overlapping items aren't guaranteed to be drawn in wheel order and animated drawables
+     * don't update, so only enable this for static drawables. The default value is false
+     */
+    public void setItemAtlasEnabled(boolean isEnabled) {
+        mIsItemAtlasEnabled = isEnabled;
+        if (!isEnabled) releaseItemAtlas();
+        invalidateWheel();
+    }
+
+    /**
+     * @return {@code true} if the item drawables are drawn from a shared bitmap.
+     */
+    public boolean isItemAtlasEnabled() {
+        return mIsItemAtlasEnabled;
     }
 
     public void setWheelSelectionTransformer(WheelSelectionTransformer transformer) {
         mSelectionTransformer = transformer;
     }
 
+    /**
+     * Sets the physics that determine how the wheel decelerates after it has been flung.
+     * Any fling currently in progress is stopped.
+     *
+     * @see FrictionPhysics
+     */
+    public void setWheelPhysics(WheelPhysics physics) {
+        if (physics == null) throw new IllegalArgumentException("WheelPhysics cannot be null");
+        mAnimator.stop();
+        mScroller.setPhysics(physics);
+    }
+
+    public WheelPhysics getWheelPhysics() {
+        return mScroller.getPhysics();
+    }
+
+    /**
+     * Sets the spring that stops a non-repeatable wheel at its first and last items. When the
+     * wheel is flung past either end, or released after being dragged past it, the spring pulls
+     * it back so that the end item is selected.
+     *
+     * @param stiffness the spring stiffness, see {@link DampedSpring}
+     * @param dampingRatio below 1 the wheel bounces, 1 settles as fast as possible without bouncing
+     */
+    public void setOverscrollSpring(float stiffness, float dampingRatio) {
+        mAnimator.stop();
+        mScroller.setSpring(new DampedSpring(stiffness, dampingRatio));
+    }
+
+    public float getOverscrollStiffness() {
+        return mScroller.getSpring().getStiffness();
+    }
+
+    public float getOverscrollDampingRatio() {
+        return mScroller.getSpring().getDampingRatio();
+    }
+
     /**
      * <p> When true the wheel drawable is rotated as well as the wheel items.
      * For performance it is better to not rotate the wheel drawable if possible.
@@ -418,7 +727,7 @@ public class WheelView extends View {
      */
     public void setWheelDrawableRotatable(boolean isWheelDrawableRotatable) {
         mIsWheelDrawableRotatable = isWheelDrawableRotatable;
-        invalidate();
+        invalidateWheel();
     }
 
     /**
@@ -442,6 +751,23 @@ public class WheelView extends View {
         return mIsRepeatable;
     }
 
+    /**
+     * When sticky selection is enabled a fling always comes to rest with an item exactly at
+     * the selection angle. The deceleration is adjusted at the time of release so that the
+     * wheel lands on the item in one motion.
+     * <p> The default value is false
+     */
+    public void setStickySelection(boolean isStickySelection) {
+        mIsStickySelection = isStickySelection;
+    }
+
+    /**
+     * @return {@code true} if the wheel always settles on an item.
+     */
+    public boolean isStickySelection() {
+        return mIsStickySelection;
+    }
+
     public void setWheelItemAngle(float angle) {
         mItemAngle = angle + mItemAnglePadding;
         mItemCount = calculateItemCount(mItemAngle);
@@ -676,6 +1002,95 @@ public class WheelView extends View {
         setWheelBounds(width, height);
 
         layoutWheelItems();
+
+        for (int i = 0; i < mRings.size(); i++) {
+            layoutRing(mRings.get(i));
+        }
+    }
+
+    /**
+     * <p>
+     * Adds a concentric ring to the wheel, with its own adapter, items and angle. Set the ring's
+     * {@link #setWheelToItemDistance(int) item distance} so that its items don't overlap the
+     * wheel's or another ring's items.
+     * </p>
+     *
+     * <p>
+     * The rings are drawn in the same pass as the wheel, on top of it in the order they are added,
+     * and touches are routed to the ring whose items are closest to the touch's distance from the
+     * center. A ring shares the wheel's center and radius, but is otherwise configured like any
+     * other WheelView. A new ring starts with this wheel's item distance, radius and count, and
+     * doesn't receive touches until it has items.
+     * </p>
+     *
+     * @return the ring, which isn't added to the view hierarchy
+     */
+    public WheelView addRing() {
+        WheelView ring = new RingWheelView(getContext(), this);
+        ring.mWheelToItemDistance = mWheelToItemDistance;
+        ring.mItemRadius = mItemRadius;
+        ring.mItemCount = mItemCount;
+        ring.mItemAngle = mItemAngle;
+        ring.mItemAnglePadding = mItemAnglePadding;
+        mRings.add(ring);
+        if (mWheelBounds != null) layoutRing(ring);
+        invalidate();
+        return ring;
+    }
+
+    public void removeRing(WheelView ring) {
+        if (mRings.remove(ring)) {
+            if (mTouchedRing == ring) mTouchedRing = null;
+            ring.releaseResources();
+            invalidate();
+        }
+    }
+
+    public int getRingCount() {
+        return mRings.size();
+    }
+
+    public WheelView getRing(int index) {
+        return mRings.get(index);
+    }
+
+    /**
+     * Lays out the ring around the same center as this wheel. Call it again after changing the
+     * ring's layout, such as its item distance or radius.
+     */
+    public void layoutRing(WheelView ring) {
+        if (mWheelBounds == null) return;
+
+        ring.mWheelPosition = mWheelPosition;
+        ring.mOffsetX = mOffsetX;
+        ring.mOffsetY = mOffsetY;
+        ring.mWheelRadius = (int) mWheelBounds.mRadius;
+        ring.layoutWheel(mLeft, mTop, mWidth, mHeight);
+    }
+
+    /**
+     * @return the ring with items whose items are closest to the given distance from the center, or
+     * null if it is this wheel's items
+     */
+    private WheelView findRingAt(float x, float y) {
+        float dx = x - mWheelBounds.mCenterX;
+        float dy = y - mWheelBounds.mCenterY;
+        float distance = (float) Math.sqrt(dx * dx + dy * dy);
+
+        WheelView closestRing = null;
+        float closestDistance = Math.abs(distance - mWheelToItemDistance);
+        for (int i = 0; i < mRings.size(); i++) {
+            WheelView ring = mRings.get(i);
+            //an unconfigured ring has nothing to touch and would otherwise take touches near the hub
+            if (ring.mAdapter == null || ring.mAdapterItemCount == 0 || ring.mItemCount == 0) continue;
+
+            float ringDistance = Math.abs(distance - ring.mWheelToItemDistance);
+            if (ringDistance < closestDistance) {
+                closestDistance = ringDistance;
+                closestRing = ring;
+            }
+        }
+        return closestRing;
     }
 
     private void setWheelBounds(int width, int height) {
@@ -689,10 +1104,15 @@ public class WheelView extends View {
         final int centerY = (int) (mOffsetY + height * relativeVertical);
 
         int wheelRadius = measureWheelRadius(mWheelRadius, width, height);
-        mWheelBounds = new Circle(centerX, centerY, wheelRadius);
+        if (mWheelBounds == null) {
+            mWheelBounds = new Circle(centerX, centerY, wheelRadius);
+        } else {
+            mWheelBounds.set(centerX, centerY, wheelRadius);
+        }
 
         if (mWheelDrawable != null) {
-            mWheelDrawable.setBounds(mWheelBounds.getBoundingRect());
+            mWheelBounds.getBoundingRect(mTempRect);
+            mWheelDrawable.setBounds(mTempRect);
         }
     }
 
@@ -706,16 +1126,13 @@ public class WheelView extends View {
     }
 
     private void layoutWheelItems() {
-        mItemStates = new ArrayList<ItemState>(mItemCount);
+        mItemBatch.ensureCapacity(mItemCount);
+        ensureItemCapacity(mItemCount);
         for (int i = 0; i < mItemCount; i++) {
-            mItemStates.add(new ItemState());
-        }
-
-        if (mWheelItemBounds == null) {
-            mWheelItemBounds = new ArrayList<Circle>(mItemCount);
-        } else if (!mWheelItemBounds.isEmpty()) {
-            mWheelItemBounds.clear();
+            //the reused item states weren't drawn in the current frame
+            mItemStates[i].mDrawnFrame = mDrawFrame - 1;
         }
+        mItemStateCount = mItemCount;
 
         if (mWheelToItemDistance == ViewGroup.LayoutParams.MATCH_PARENT) {
             mWheelToItemDistance = (int) (mWheelBounds.mRadius - mItemRadius - mWheelPadding);
@@ -727,12 +1144,76 @@ public class WheelView extends View {
             float angle = itemAngleRadians * i + offsetRadians;
             float x = mWheelBounds.mCenterX + mWheelToItemDistance * (float) Math.cos(angle);
             float y = mWheelBounds.mCenterY + mWheelToItemDistance * (float) Math.sin(angle);
-            mWheelItemBounds.add(new Circle(x, y, mItemRadius));
+            mItemCenterX[i] = x;
+            mItemCenterY[i] = y;
+            mItemRadii[i] = mItemRadius;
         }
 
+        updateVisibleArcs();
+
+        invalidateRotationCache();
+        //the atlas' slots only depend on the item size, so moving the items doesn't need a new bitmap
+        if (mItemAtlas != null && !mItemAtlas.isCreatedFor(mItemRadius, mItemCount)) {
+            releaseItemAtlas();
+        }
         invalidate();
     }
 
+    /**
+     * Finds the arc of the wheel where item centers can be within the view, leaving room for the
+     * largest item.
+     */
+    private void updateVisibleArcs() {
+        if (mWheelBounds == null) return;
+
+        mCullingItemScale = getCullingItemScale();
+        float itemScale = mItemAngleIndex != null ? Math.max(1f, mItemAngleIndex.getMaxAngle() / mItemAngle) : 1f;
+        float margin = mItemRadius * itemScale * mCullingItemScale + mSelectionPadding;
+        mVisibleArcs.update(mWheelBounds.mCenterX, mWheelBounds.mCenterY, mWheelToItemDistance,
+                mViewBounds.left - margin, mViewBounds.top - margin,
+                mViewBounds.right + margin, mViewBounds.bottom + margin);
+
+        //the items can be drawn past the edge of the wheel drawable
+        float dirtyRadius = Math.max(mWheelBounds.mRadius, mWheelToItemDistance + margin);
+        mWheelDirtyBounds.set((int) Math.floor(mWheelBounds.mCenterX - dirtyRadius),
+                (int) Math.floor(mWheelBounds.mCenterY - dirtyRadius),
+                (int) Math.ceil(mWheelBounds.mCenterX + dirtyRadius),
+                (int) Math.ceil(mWheelBounds.mCenterY + dirtyRadius));
+        if (!mWheelDirtyBounds.intersect(mViewBounds)) {
+            mWheelDirtyBounds.setEmpty();
+        }
+    }
+
+    /**
+     * @return how many item radii past the view an item's center can be whilst the transformed
+     * item is still partly in view
+     */
+    private float getCullingItemScale() {
+        if (mItemTransformer instanceof CurveTransformer) {
+            return Math.max(CULLING_ITEM_RADIUS_SCALE, ((CurveTransformer) mItemTransformer).getMaxScale());
+        }
+        return CULLING_ITEM_RADIUS_SCALE;
+    }
+
+    /**
+     * Grows the item geometry arrays and the item state pool to hold at least the given number
+     * of items.
+     */
+    private void ensureItemCapacity(int itemCount) {
+        int oldCapacity = mItemStates != null ? mItemStates.length : 0;
+        if (oldCapacity >= itemCount) return;
+
+        ItemState[] itemStates = new ItemState[itemCount];
+        if (oldCapacity > 0) System.arraycopy(mItemStates, 0, itemStates, 0, oldCapacity);
+        for (int i = oldCapacity; i < itemCount; i++) {
+            itemStates[i] = new ItemState();
+        }
+        mItemStates = itemStates;
+        mItemCenterX = Arrays.copyOf(mItemCenterX, itemCount);
+        mItemCenterY = Arrays.copyOf(mItemCenterY, itemCount);
+        mItemRadii = Arrays.copyOf(mItemRadii, itemCount);
+    }
+
     /**
      * You should set the wheel drawable not to rotate for a performance benefit.
      * See the method {@link #setWheelDrawableRotatable(boolean)}
@@ -768,8 +1249,9 @@ public class WheelView extends View {
         mWheelDrawable = drawable;
 
         if (mWheelBounds != null) {
-            mWheelDrawable.setBounds(mWheelBounds.getBoundingRect());
-            invalidate();
+            mWheelBounds.getBoundingRect(mTempRect);
+            mWheelDrawable.setBounds(mTempRect);
+            invalidateWheel();
         }
     }
 
@@ -798,10 +1280,12 @@ public class WheelView extends View {
      */
     public void setEmptyItemDrawable(Drawable drawable) {
         mEmptyItemDrawable = drawable;
-        EMPTY_CACHE_ITEM.mDrawable = drawable;
+        mEmptyCacheItem.mDrawable = drawable;
+        invalidateRotationCache();
+        if (mItemAtlas != null) mItemAtlas.clear();
 
         if (mWheelBounds != null) {
-            invalidate();
+            invalidateWheel();
         }
     }
 
@@ -833,7 +1317,7 @@ public class WheelView extends View {
      */
     public void setSelectionDrawable(Drawable drawable) {
         mSelectionDrawable = drawable;
-        invalidate();
+        invalidateSelection();
     }
 
     /**
@@ -863,7 +1347,98 @@ public class WheelView extends View {
      * @return the absolute angle for the item at the given position
      */
     public float getAngleForPosition(int rawPosition) {
-        return rawPosition * mItemAngle;
+        ItemAngleIndex index = mItemAngleIndex;
+        if (index == null || index.getCount() == 0) return rawPosition * mItemAngle;
+
+        int count = index.getCount();
+        int position = mIsRepeatable ? Circle.clamp(rawPosition, count) : rawPosition;
+        if (position < 0) {
+            return position * mItemAngle;
+        } else if (position >= count) {
+            return getItemCenterAngle(index, count - 1) + (position - count + 1) * mItemAngle;
+        }
+
+        int revolution = (rawPosition - position) / count;
+        return revolution * index.getTotalAngle() + getItemCenterAngle(index, position);
+    }
+
+    /**
+     * @return the angle of the item's center, relative to the center of the first item
+     */
+    private static float getItemCenterAngle(ItemAngleIndex index, int position) {
+        return index.getStartAngle(position) + (index.getAngle(position) - index.getAngle(0)) / 2f;
+    }
+
+    /**
+     * @return the angle of the closest item boundary to the given wheel angle
+     */
+    private float getNearestItemAngle(float angle) {
+        if (mItemAngleIndex == null) return Math.round(angle / mItemAngle) * mItemAngle;
+
+        return -getAngleForPosition(angleToRawPosition(angle));
+    }
+
+    /**
+     * @return the angle of the item boundary after the one at the given wheel angle, in the
+     * direction of the sign of the direction
+     */
+    private float getNextItemAngle(float angle, float direction) {
+        if (mItemAngleIndex == null) return angle + direction * mItemAngle;
+
+        //a positive angle selects lower positions
+        return -getAngleForPosition(angleToRawPosition(angle) - (int) direction);
+    }
+
+    /**
+     * Indexes the item angles of a {@link VariableAngleWheelAdapter}, or drops the index for
+     * any other adapter.
+     */
+    private void rebuildItemAngleIndex() {
+        if (mAdapter instanceof VariableAngleWheelAdapter) {
+            if (mItemAngleIndex == null) mItemAngleIndex = new ItemAngleIndex();
+            mItemAngleIndex.rebuild((VariableAngleWheelAdapter) mAdapter, mAdapterItemCount);
+        } else {
+            mItemAngleIndex = null;
+        }
+        updateVisibleArcs();
+    }
+
+    /**
+     * Updates the indexed angles of the items from the start position up to, but not including,
+     * the end position, keeping the selected item selected.
+     */
+    private void updateItemAngles(int start, int end) {
+        VariableAngleWheelAdapter adapter = (VariableAngleWheelAdapter) mAdapter;
+        int rawPosition = mRawSelectedPosition;
+        float selectedOffset = getSelectedItemOffset();
+        for (int i = start; i < end && i < mItemAngleIndex.getCount(); i++) {
+            mItemAngleIndex.set(i, adapter.getItemAngle(i));
+        }
+        updateVisibleArcs();
+        restoreSelectedItem(rawPosition, selectedOffset);
+    }
+
+    /**
+     * @return how far the wheel is turned past the center of the selected item
+     */
+    private float getSelectedItemOffset() {
+        return -mAngle - getAngleForPosition(mRawSelectedPosition);
+    }
+
+    /**
+     * Turns the wheel, along with any fling, so that the raw position is selected with the same
+     * offset it had before the items moved.
+     *
+     * @see #getSelectedItemOffset()
+     */
+    private void restoreSelectedItem(int rawPosition, float selectedOffset) {
+        float deltaAngle = -(getAngleForPosition(rawPosition) + selectedOffset) - mAngle;
+        if (deltaAngle != 0f) {
+            mScroller.offsetAngle(deltaAngle);
+            setAngle(mAngle + deltaAngle);
+        } else {
+            invalidateWheel();
+        }
     }
 
     /**
@@ -896,6 +1471,61 @@ public class WheelView extends View {
         setSelected(mAdapterItemCount / 2);
     }
 
+    /**
+     * <p>
+     * Animates the wheel so that the item at the provided position becomes selected.
+     * </p>
+     * <p>
+     * With repeatable items the wheel takes the shortest route to any raw position showing the
+     * same adapter item. Very long scrolls jump to within a couple of revolutions of the
+     * target and only animate the remainder.
+     * </p>
+     *
+     * @param rawPosition the raw position (can take negative numbers)
+     * @param duration the duration of the animation in milliseconds
+     * @param interpolator the interpolator or null to decelerate towards the position
+     *
+     * @see #setSelected(int)
+     */
+    public void smoothScrollToPosition(int rawPosition, long duration, Interpolator interpolator) {
+        if (mIsRepeatable && mAdapterItemCount > 0) {
+            int delta = Circle.clamp(rawPosition - mRawSelectedPosition, mAdapterItemCount);
+            if (delta > mAdapterItemCount / 2) delta -= mAdapterItemCount;
+            rawPosition = mRawSelectedPosition + delta;
+        }
+
+        animateToAngle(-1f * getAngleForPosition(rawPosition), duration, interpolator);
+    }
+
+    /**
+     * Animates the wheel to the provided angle. Very long scrolls jump to within a couple of
+     * revolutions of the target and only animate the remainder.
+     *
+     * @param angle given in degrees and can be any value (not only between 0 and 360)
+     * @param duration the duration of the animation in milliseconds
+     * @param interpolator the interpolator or null to decelerate towards the angle
+     *
+     * @see #setAngle(float)
+     */
+    public void animateToAngle(float angle, long duration, Interpolator interpolator) {
+        stopWheelAnimation();
+
+        float deltaAngle = angle - mAngle;
+        if (duration <= 0 || deltaAngle == 0f) {
+            setAngle(angle);
+            return;
+        }
+
+        if (Math.abs(deltaAngle) > MAX_SMOOTH_SCROLL_ANGLE) {
+            deltaAngle = Math.signum(deltaAngle) * MAX_SMOOTH_SCROLL_ANGLE;
+            setAngle(angle - deltaAngle);
+        }
+
+        if (interpolator == null) interpolator = DEFAULT_SCROLL_INTERPOLATOR;
+        mScroller.startScroll(mAngle, deltaAngle, System.nanoTime(), duration, interpolator);
+        mAnimator.start();
+    }
+
     /**
      * The raw selected position (can be negative and isn't cyclic)
      *
@@ -908,7 +1538,7 @@ public class WheelView extends View {
 
     /**
      * Set the angle of the wheel instantaneously.
-     * Note this does not animate to the provided angle.
+     * Note this does not animate to the provided angle, see {@link #animateToAngle}.
      *
      * @param angle given in degrees and can be any value (not only between 0 and 360)
      */
@@ -921,15 +1551,56 @@ public class WheelView extends View {
             mOnAngleChangeListener.onWheelAngleChange(mAngle);
         }
 
-        invalidate();
+        invalidateWheel();
     }
 
     /**
      * Checks to see if the selectedPosition has changed.
      */
     private void updateSelectedPosition() {
-        int position = (int) ((-mAngle + -0.5 * Math.signum(mAngle) * mItemAngle) / mItemAngle);
-        setSelectedPosition(position);
+        setSelectedPosition(angleToRawPosition(mAngle));
+    }
+
+    /**
+     * @return the raw position that is selected when the wheel is at the given angle
+     */
+    private int angleToRawPosition(float angle) {
+        ItemAngleIndex index = mItemAngleIndex;
+        if (index == null || index.getCount() == 0) {
+            return (int) ((-angle + -0.5 * Math.signum(angle) * mItemAngle) / mItemAngle);
+        }
+
+        //the angle turned from the start of the first item
+        float distance = -angle + index.getAngle(0) / 2f;
+        int revolution = 0;
+        if (mIsRepeatable) {
+            float totalAngle = index.getTotalAngle();
+            revolution = (int) Math.floor(distance / totalAngle);
+            distance -= revolution * totalAngle;
+        }
+        return revolution * index.getCount() + index.findPosition(distance);
+    }
+
+    /**
+     * @return the raw position that will be selected once the wheel comes to rest. This is
+     * the same as the {@link #getRawSelectedPosition()} if the wheel isn't moving.
+     *
+     * @see #getPredictedRestPosition()
+     */
+    public int getPredictedRawRestPosition() {
+        if (mScroller.isFinished()) return mRawSelectedPosition;
+
+        return angleToRawPosition(mScroller.getFinalAngle());
+    }
+
+    /**
+     * @return the adapter position that will be selected once the wheel comes to rest.
+     * This is the same as the {@link #getSelectedPosition()} if the wheel isn't moving.
+     *
+     * @see #setOnWheelFlingListener(OnWheelFlingListener)
+     */
+    public int getPredictedRestPosition() {
+        return rawPositionToAdapterPosition(getPredictedRawRestPosition());
     }
 
     /**
@@ -945,6 +1616,7 @@ public class WheelView extends View {
         if (mRawSelectedPosition == position) return;
 
         mRawSelectedPosition = position;
+        dispatchSelectionToAdapter();
 
         if (mOnItemSelectListener != null && !isEmptyItemPosition(position)) {
             int adapterPos = getSelectedPosition();
@@ -952,16 +1624,37 @@ public class WheelView extends View {
         }
     }
 
-    /**
+    private void dispatchSelectionToAdapter() {
+        if (mAdapter instanceof BaseWheelAdapter && mAdapterItemCount > 0) {
+            ((BaseWheelAdapter) mAdapter).onWheelSelectionChanged(this, mRawSelectedPosition, getSelectedPosition());
+        }
+    }
+
+    /**
      * @param position of the item in the Adapter
      * @return The Drawable at the specific position in the Adapter
      */
     public Drawable getWheelItemDrawable(int position) {
         if (mAdapter == null || mAdapterItemCount == 0) return null;
 
-        CacheItem cacheItem = getCacheItem(position);
-        if (!cacheItem.mDirty) return cacheItem.mDrawable;
+        return getItemDrawable(getCacheItem(position), position);
+    }
 
+    /**
+     * @return the cached drawable, fetching it from the adapter if it is missing or dirty
+     */
+    private Drawable getItemDrawable(CacheItem cacheItem, int position) {
+        if (!cacheItem.mDirty || cacheItem.mIsEmpty) {
+            if (!cacheItem.mIsEmpty) mItemCache.recordHit();
+            return cacheItem.mDrawable;
+        }
+
+        mItemCache.recordMiss();
+        cacheItem.mDirty = false;
+        if (mAdapter instanceof RecyclingWheelAdapter) {
+            //the data may have changed by the time the drawable is recycled
+            cacheItem.mViewType = ((RecyclingWheelAdapter<?>) mAdapter).getItemViewType(position);
+        }
         return cacheItem.mDrawable = mAdapter.getDrawable(position);
     }
 
@@ -973,20 +1666,195 @@ public class WheelView extends View {
         int adapterPos = rawPositionToAdapterPosition(position);
         if (isEmptyItemPosition(adapterPos)) return;
 
-        CacheItem cacheItem = mItemCacheArray[adapterPos];
-        if (cacheItem != null) cacheItem.mDirty = true;
-        invalidate();
+        markItemDirty(adapterPos);
+        invalidateRotationCache();
+        invalidateItem(adapterPos);
     }
 
     /**
      * Invalidate all wheel items. Note - If you need to change the number of items
-     * in the adapter then you will need to use {@link #setAdapter}
+     * in the adapter then you will need to use {@link #setAdapter}, or extend
+     * {@link BaseWheelAdapter} and notify the change
      *
      * @see #invalidateWheelItemDrawable
      */
     public void invalidateWheelItemDrawables() {
-        for (int i = 0; i < mAdapterItemCount; i++) {
-            invalidateWheelItemDrawable(i);
+        //the cached items are marked dirty as they are next used
+        mItemCache.invalidateAll();
+        if (mItemAtlas != null) mItemAtlas.clear();
+        invalidateRotationCache();
+        invalidateWheel();
+    }
+
+    /**
+     * Invalidates the adapter items from the start position up to, but not including, the end
+     * position, leaving the rest of the cached items as they are.
+     */
+    private void invalidateWheelItemDrawables(int start, int end) {
+        for (CacheItem cacheItem = mItemCache.getFirst(); cacheItem != null; cacheItem = cacheItem.mNext) {
+            if (cacheItem.mPosition >= start && cacheItem.mPosition < end) cacheItem.mDirty = true;
+        }
+        if (mItemAtlas != null) {
+            if (end - start > mItemAtlas.getCapacity()) {
+                mItemAtlas.clear();
+            } else {
+                for (int i = start; i < end; i++) mItemAtlas.evict(i);
+            }
+        }
+        invalidateRotationCache();
+        invalidateItems(start, end);
+    }
+
+    /**
+     * Moves the cached items after the items inserted or removed at the start position, then turns
+     * the wheel by the same number of items so that the selected item stays selected.
+     *
+     * @param offset the number of items inserted, or negative the number of items removed
+     */
+    private void moveWheelItems(int start, int offset) {
+        if (offset < 0) {
+            int end = start - offset;
+            for (CacheItem cacheItem = mItemCache.getFirst(); cacheItem != null; cacheItem = cacheItem.mNext) {
+                if (cacheItem.mPosition < start || cacheItem.mPosition >= end) continue;
+
+                if (mAdapter instanceof RecyclingWheelAdapter && cacheItem.mDrawable != null) {
+                    ((RecyclingWheelAdapter<?>) mAdapter).recycleDrawable(cacheItem.mDrawable, cacheItem.mViewType);
+                }
+            }
+            mItemCache.removeRange(start, end);
+            mItemCache.offsetPositions(end, offset);
+        } else {
+            mItemCache.offsetPositions(start, offset);
+        }
+
+        int oldCount = mAdapterItemCount;
+        float selectedOffset = oldCount > 0 ? getSelectedItemOffset() : 0f;
+        mAdapterItemCount = mAdapter.getCount();
+        if (mItemAngleIndex != null) {
+            if (offset > 0 && start == mItemAngleIndex.getCount()) {
+                VariableAngleWheelAdapter adapter = (VariableAngleWheelAdapter) mAdapter;
+                for (int i = start; i < start + offset; i++) {
+                    mItemAngleIndex.append(adapter.getItemAngle(i));
+                }
+                updateVisibleArcs();
+            } else {
+                //every following item's start angle moves
+                rebuildItemAngleIndex();
+            }
+        }
+        if (mItemAtlas != null) mItemAtlas.clear();
+        invalidateRotationCache();
+        updateScrollerBounds();
+
+        if (oldCount > 0 && mAdapterItemCount > 0) {
+            int rawPosition = mRawSelectedPosition;
+            int position = mIsRepeatable ? Circle.clamp(rawPosition, oldCount) : rawPosition;
+            int revolution = (rawPosition - position) / oldCount;
+            int newPosition = position >= start ? Math.max(start, position + offset) : position;
+            newPosition = Math.max(0, Math.min(newPosition, mAdapterItemCount - 1));
+
+            restoreSelectedItem(revolution * mAdapterItemCount + newPosition, selectedOffset);
+        } else {
+            updateSelectedPosition();
+            invalidateWheel();
+        }
+    }
+
+    private void markItemDirty(int adapterPosition) {
+        CacheItem cacheItem = mItemCache.peek(adapterPosition);
+        if (cacheItem != null) cacheItem.mDirty = true;
+        if (mItemAtlas != null) mItemAtlas.evict(adapterPosition);
+    }
+
+    /**
+     * Invalidates the part of the view the wheel and its items can be drawn in.
+     */
+    private void invalidateWheel() {
+        if (mWheelDirtyBounds.isEmpty()) {
+            invalidate();
+        } else {
+            invalidateRect(mWheelDirtyBounds);
+        }
+    }
+
+    /**
+     * Invalidates part of the view. Since API 21 a hardware accelerated view redraws its whole
+     * layer whatever the rectangle, so this only saves drawing on software layers and in a
+     * {@link WheelSurfaceView}, which only redraws the dirty part of its surface.
+     */
+    @SuppressWarnings("deprecation")
+    void invalidateRect(Rect dirty) {
+        invalidate(dirty);
+    }
+
+    /**
+     * Invalidates the bounds the adapter item was last drawn at. Nothing needs redrawing if the
+     * item wasn't drawn, it is fetched again once it becomes visible.
+     */
+    private void invalidateItem(int adapterPosition) {
+        invalidateItems(adapterPosition, adapterPosition + 1);
+    }
+
+    /**
+     * Invalidates the bounds the adapter items from the start position up to, but not including,
+     * the end position were last drawn at.
+     */
+    private void invalidateItems(int start, int end) {
+        if (mItemStates == null) {
+            invalidate();
+            return;
+        }
+
+        //an adapter item can be drawn at more than one wheel position
+        mItemDirtyBounds.setEmpty();
+        for (int i = 0; i < mItemStateCount; i++) {
+            ItemState itemState = mItemStates[i];
+            if (itemState.mDrawnFrame == mDrawFrame && itemState.mAdapterPosition >= start
+                    && itemState.mAdapterPosition < end) {
+                mItemDirtyBounds.union(itemState.mDrawnBounds);
+            }
+        }
+        if (!mItemDirtyBounds.isEmpty()) invalidateRect(mItemDirtyBounds);
+    }
+
+    /**
+     * Invalidates the bounds the selection drawable was last drawn at and the bounds it will be
+     * drawn at around the selected item.
+     */
+    private void invalidateSelection() {
+        if (mItemStates == null || mAdapterItemCount == 0) {
+            invalidateWheel();
+            return;
+        }
+
+        mItemDirtyBounds.set(mSelectionDirtyBounds);
+        ItemState itemState = getSelectedItemState();
+        if (itemState != null && itemState.mDrawnFrame == mDrawFrame) {
+            Rect bounds = itemState.mDrawnBounds;
+            mItemDirtyBounds.union(bounds.left - mSelectionPadding, bounds.top - mSelectionPadding,
+                    bounds.right + mSelectionPadding, bounds.bottom + mSelectionPadding);
+        }
+        if (!mItemDirtyBounds.isEmpty()) invalidateRect(mItemDirtyBounds);
+    }
+
+    /**
+     * @return the item state of the selected item, which is the first one visited when the items
+     * have variable angles, or null if it hasn't been laid out
+     */
+    private ItemState getSelectedItemState() {
+        if (mItemAngleIndex != null) return mItemStateCount > 0 ? mItemStates[0] : null;
+
+        return mItemStates[rawPositionToWheelPosition(mRawSelectedPosition)];
+    }
+
+    private void invalidateRotationCache() {
+        if (mRotationCache != null) mRotationCache.invalidate();
+    }
+
+    private void releaseItemAtlas() {
+        if (mItemAtlas != null) {
+            mItemAtlas.release();
+            mItemAtlas = null;
         }
     }
 
@@ -1016,15 +1884,20 @@ public class WheelView extends View {
         return mAngle;
     }
 
-    private void addAngle(float degrees) {
-        setAngle(mAngle + degrees);
-    }
-
     @Override
     public boolean onTouchEvent(@NonNull MotionEvent event) {
         final float x = event.getX();
         final float y = event.getY();
 
+        if (!mRings.isEmpty() && mWheelBounds != null) {
+            //a gesture stays with the ring it started on
+            int action = event.getAction() & MotionEvent.ACTION_MASK;
+            if (action == MotionEvent.ACTION_DOWN) mTouchedRing = findRingAt(x, y);
+            WheelView ring = mTouchedRing;
+            if (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL) mTouchedRing = null;
+            if (ring != null) return ring.onTouchEvent(event);
+        }
+
         if (!mWheelBounds.contains(x, y)) {
             if (mIsDraggingWheel) {
                 flingWheel();
@@ -1038,11 +1911,11 @@ public class WheelView extends View {
                     startWheelDrag(event, x, y);
                 }
 
-                mClickedItem = getClickedItem(x, y);
+                mClickedItem = findItemStateAt(x, y);
                 break;
             case MotionEvent.ACTION_UP:
                 if (mOnItemClickListener != null && mClickedItem != null
-                        && mClickedItem == getClickedItem(x, y)
+                        && mClickedItem == findItemStateAt(x, y)
                         && mDraggedAngle < CLICK_MAX_DRAGGED_ANGLE) {
                     boolean isSelected = Math.abs(mClickedItem.mRelativePos) < 1f;
                     mOnItemClickListener.onWheelItemClick(this,
@@ -1064,31 +1937,141 @@ public class WheelView extends View {
                     return true;
                 }
 
+                //the velocity tracker reads the historical samples itself
                 mVelocityTracker.addMovement(event);
                 mLastWheelTouchX = x;
                 mLastWheelTouchY = y;
-                setRadiusVector(x, y);
-
-                float wheelRadiusSquared = mWheelBounds.getRadius() * mWheelBounds.getRadius();
-                float touchRadiusSquared = mRadiusVector.x * mRadiusVector.x + mRadiusVector.y * mRadiusVector.y;
-                float touchFactor = TOUCH_FACTORS[(int) (touchRadiusSquared / wheelRadiusSquared * TOUCH_FACTORS.length)];
-                float touchAngle = mWheelBounds.angleToDegrees(x, y);
-                float draggedAngle = -1f * Circle.shortestAngle(touchAngle, mLastTouchAngle) * touchFactor;
-                addAngle(draggedAngle);
-                mLastTouchAngle = touchAngle;
-                mDraggedAngle += draggedAngle;
 
-                if (mRequiresUpdate) {
-                    mRequiresUpdate = false;
+                //the samples batched since the last event are integrated one by one, so fast drags
+                //follow the finger's path rather than a chord of it
+                float angle = mAngle;
+                float startAngle = angle;
+                for (int i = 0; i < event.getHistorySize(); i++) {
+                    angle += dragAngle(angle, event.getHistoricalX(i), event.getHistoricalY(i));
                 }
+                angle += dragAngle(angle, x, y);
+
+                float draggedAngle = angle - startAngle;
+                mDraggedAngle += draggedAngle;
+                mLastDraggedAngle = draggedAngle;
+                updateDragVelocity(draggedAngle, event.getEventTime());
+                setAngle(angle);
+                updatePredictedAngle(event.getEventTime());
                 break;
         }
         return true;
     }
 
+    /**
+     * Drags the wheel from the last touch angle to the touch point.
+     *
+     * @param angle the wheel's angle before the drag
+     * @return the angle the wheel is dragged by
+     */
+    private float dragAngle(float angle, float x, float y) {
+        setRadiusVector(x, y);
+
+        float wheelRadiusSquared = mWheelBounds.getRadius() * mWheelBounds.getRadius();
+        float touchRadiusSquared = mRadiusVector.x * mRadiusVector.x + mRadiusVector.y * mRadiusVector.y;
+        //historical samples can be outside of the wheel
+        int factorIndex = Math.min((int) (touchRadiusSquared / wheelRadiusSquared * TOUCH_FACTORS.length), TOUCH_FACTORS.length - 1);
+        float touchFactor = TOUCH_FACTORS[factorIndex];
+        float touchAngle = mWheelBounds.angleToDegrees(x, y);
+        float draggedAngle = -1f * Circle.shortestAngle(touchAngle, mLastTouchAngle) * touchFactor;
+
+        //resist dragging further past the first or last item
+        float overscroll = mScroller.getOverscroll(angle);
+        if (overscroll * draggedAngle > 0f) {
+            float maxOverscroll = MAX_OVERSCROLL_ITEMS * mItemAngle;
+            draggedAngle *= Math.max(0f, 1f - Math.abs(overscroll) / maxOverscroll);
+        }
+        mLastTouchAngle = touchAngle;
+        return draggedAngle;
+    }
+
+    private void updateDragVelocity(float draggedAngle, long eventTime) {
+        long elapsed = eventTime - mLastDragTime;
+        mLastDragTime = eventTime;
+        if (elapsed <= 0) return;
+
+        float velocity = draggedAngle / elapsed;
+        mDragVelocity += (velocity - mDragVelocity) * PREDICTION_VELOCITY_SMOOTHING;
+    }
+
+    private void updatePredictedAngle(long eventTime) {
+        mSamplePredictedAngle = predictDragAngle(mAngle, eventTime);
+        if (mSamplePredictedAngle == mPredictedAngle) return;
+
+        mPredictedAngle = mSamplePredictedAngle;
+        invalidateWheel();
+        //frames are needed to take the prediction back if no more samples arrive
+        if (mPredictedAngle != 0f) mAnimator.start();
+    }
+
+    /**
+     * Shrinks the prediction once the last touch sample is more than a frame old, as the finger
+     * has slowed down or stopped, so that the wheel settles back under it.
+     *
+     * @return {@code true} if the prediction still needs decaying on the next frames
+     */
+    private boolean decayPredictedAngle() {
+        if (mPredictedAngle == 0f) return false;
+
+        float age = SystemClock.uptimeMillis() - mLastDragTime - PREDICTION_FRAME_TIME;
+        float scale = Math.max(0f, Math.min(1f - age / MAX_PREDICTION_TIME, 1f));
+        float predictedAngle = mSamplePredictedAngle * scale;
+        if (predictedAngle != mPredictedAngle) {
+            mPredictedAngle = predictedAngle;
+            invalidateWheel();
+        }
+        return mPredictedAngle != 0f;
+    }
+
+    /**
+     * @return how much further the wheel is expected to have been dragged by the time the frame
+     * is shown, or 0 if touch prediction is disabled
+     */
+    private float predictDragAngle(float angle, long eventTime) {
+        if (!mIsTouchPredictionEnabled || mScroller.getOverscroll(angle) != 0f) return 0f;
+
+        float time = Math.min(SystemClock.uptimeMillis() - eventTime + PREDICTION_FRAME_TIME, MAX_PREDICTION_TIME);
+        float predictedAngle = mDragVelocity * time;
+
+        //never predict more than half an item or past the first or last item
+        float maxAngle = mItemAngle / 2f;
+        predictedAngle = Math.max(-maxAngle, Math.min(predictedAngle, maxAngle));
+        return predictedAngle - mScroller.getOverscroll(angle + predictedAngle);
+    }
+
+    /**
+     * <p>
+     * When enabled, the wheel is drawn where the drag is expected to be by the time the frame is
+     * shown, based on the speed of the recent touch samples. This hides some of the latency
+     * between the finger and the wheel, at the cost of overshooting slightly when the finger
+     * suddenly stops, which is taken back over the next few frames. The prediction only affects
+     * drawing, the angle, selection and listeners follow the finger.
+     * </p>
+     * <p>
+     * The default value is false
+     * </p>
+     */
+    public void setTouchPredictionEnabled(boolean isEnabled) {
+        mIsTouchPredictionEnabled = isEnabled;
+        if (!isEnabled && mPredictedAngle != 0f) {
+            mPredictedAngle = 0f;
+            invalidateWheel();
+        }
+    }
+
+    public boolean isTouchPredictionEnabled() {
+        return mIsTouchPredictionEnabled;
+    }
+
     private void startWheelDrag(MotionEvent event, float x, float y) {
         mIsDraggingWheel = true;
         mDraggedAngle = 0f;
+        mDragVelocity = 0f;
+        mLastDragTime = event.getEventTime();
 
         if (mVelocityTracker == null) {
             mVelocityTracker = VelocityTracker.obtain();
@@ -1097,7 +2080,8 @@ public class WheelView extends View {
         }
         mVelocityTracker.addMovement(event);
 
-        mAngularVelocity = 0f;
+        stopWheelAnimation();
+        updateScrollerBounds();
         mLastTouchAngle = mWheelBounds.angleToDegrees(x, y);
     }
 
@@ -1121,12 +2105,88 @@ public class WheelView extends View {
         //clamp the angular velocity
         if (angularVel > MAX_ANGULAR_VEL) angularVel = MAX_ANGULAR_VEL;
         else if (angularVel < -MAX_ANGULAR_VEL) angularVel = -MAX_ANGULAR_VEL;
-        mAngularVelocity = angularVel;
 
-        mLastUpdateTime = SystemClock.uptimeMillis();
-        mRequiresUpdate = true;
+        updateScrollerBounds();
+        if (mIsStickySelection) {
+            flingToNearestItem(angularVel);
+        } else {
+            mScroller.fling(mAngle, angularVel, System.nanoTime());
+        }
+
+        if (mScroller.isFinished()) return;
 
-        invalidate();
+        mAnimator.start();
+
+        if (mOnFlingListener != null) {
+            mOnFlingListener.onWheelFling(this, getPredictedRestPosition(),
+                    mScroller.getFinalAngle(), (long) mScroller.getDuration());
+        }
+    }
+
+    /**
+     * Flings the wheel so that it comes to rest on the item boundary closest to where it would
+     * naturally come to rest, only ever choosing a boundary ahead of the wheel's direction.
+     */
+    private void flingToNearestItem(float angularVel) {
+        //the spring already settles an overscrolled wheel on the end item
+        if (mScroller.isOutOfBounds(mAngle)) {
+            mScroller.fling(mAngle, angularVel, System.nanoTime());
+            return;
+        }
+
+        float targetAngle;
+        if (angularVel == 0f) {
+            targetAngle = getNearestItemAngle(mAngle);
+            if (targetAngle == mAngle) return;
+        } else {
+            mScroller.fling(mAngle, angularVel, System.nanoTime());
+            targetAngle = getNearestItemAngle(mScroller.getFinalAngle());
+            float direction = Math.signum(angularVel);
+            if ((targetAngle - mAngle) * direction <= 0f) {
+                targetAngle = getNextItemAngle(targetAngle, direction);
+            }
+
+            //rather than spring back, decelerate to rest on the end item
+            targetAngle -= mScroller.getOverscroll(targetAngle);
+            if (targetAngle == mAngle) {
+                mScroller.fling(mAngle, angularVel, System.nanoTime());
+                return;
+            }
+        }
+
+        //slow releases are given enough velocity to settle quickly rather than crawl to the item
+        float distance = targetAngle - mAngle;
+        float settleVel = 2f * distance / STICKY_SETTLE_DURATION;
+        if (Math.abs(angularVel) < Math.abs(settleVel)) {
+            angularVel = settleVel;
+        }
+
+        mScroller.fling(mAngle, angularVel, System.nanoTime());
+        mScroller.setFinalAngle(targetAngle);
+    }
+
+    /**
+     * Non-repeatable wheels are bounded so that the first and last items can be selected but
+     * nothing beyond them.
+     */
+    private void updateScrollerBounds() {
+        if (mIsRepeatable || mAdapterItemCount == 0) {
+            mScroller.clearBounds();
+        } else {
+            mScroller.setBounds(-1f * getAngleForPosition(mAdapterItemCount - 1), 0f);
+        }
+    }
+
+    /**
+     * Springs the wheel back to the last item once fewer items leave it past the end. A dragged
+     * wheel springs back when it is released instead.
+     */
+    private void springIntoBounds() {
+        if (mIsDraggingWheel || !mScroller.isOutOfBounds(mAngle)) return;
+
+        float velocity = mScroller.isFinished() ? 0f : mScroller.getCurrVelocity();
+        mScroller.fling(mAngle, velocity, System.nanoTime());
+        mAnimator.start();
     }
 
     private void setRadiusVector(float x, float y) {
@@ -1168,55 +2228,75 @@ public class WheelView extends View {
     }
 
     /**
-     * Estimates the wheel's new angle and angular velocity
+     * Moves the wheel to where it should be at the given frame time.
+     *
+     * @return {@code true} if the wheel is still moving and requires another frame
      */
-    private void update(float deltaTime) {
-        float vel = mAngularVelocity;
-        float velSqr = vel*vel;
-        if (vel > 0f) {
-            //TODO the damping is not based on time
-            mAngularVelocity -= velSqr * VELOCITY_FRICTION_COEFFICIENT + CONSTANT_FRICTION_COEFFICIENT;
-            if (mAngularVelocity < 0f) mAngularVelocity = 0f;
-        } else if (vel < 0f) {
-            mAngularVelocity -= velSqr * -VELOCITY_FRICTION_COEFFICIENT - CONSTANT_FRICTION_COEFFICIENT;
-            if (mAngularVelocity > 0f) mAngularVelocity = 0f;
+    private boolean updateWheelState(long frameTime) {
+        boolean isPredicting = decayPredictedAngle();
+        if (mScroller.computeAngle(frameTime)) {
+            setAngle(mScroller.getCurrAngle());
         }
+        return isPredicting || !mScroller.isFinished();
+    }
 
-        if (mAngularVelocity != 0f) {
-            addAngle(mAngularVelocity * deltaTime);
-        } else {
-            mRequiresUpdate = false;
+    private void stopWheelAnimation() {
+        mAnimator.stop();
+        mScroller.abortAnimation();
+        if (mPredictedAngle != 0f) {
+            mPredictedAngle = 0f;
+            invalidateWheel();
         }
     }
 
-    private void updateWheelStateIfReq() {
-        if (!mRequiresUpdate) return;
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        releaseResources();
+    }
 
-        long currentTime = SystemClock.uptimeMillis();
-        long timeDiff = currentTime - mLastUpdateTime;
-        mLastUpdateTime = currentTime;
-        update(timeDiff);
+    /**
+     * Stops any animation and releases the cached bitmaps, which are recreated when next drawn.
+     */
+    void releaseResources() {
+        stopWheelAnimation();
+        mAnimator.release();
+        for (int i = 0; i < mRings.size(); i++) {
+            mRings.get(i).releaseResources();
+        }
+
+        if (mRotationCache != null) {
+            mRotationCache.release();
+            mRotationCache = null;
+        }
+        releaseItemAtlas();
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
-        updateWheelStateIfReq();
-
         if (mWheelBounds == null) return; //issue with layoutWheel not being called before draw call
 
+        //only the drawing is moved ahead by the touch prediction, mAngle is left as it is so that
+        //callbacks made whilst drawing see the wheel's actual angle
+        float angle = mAngle + mPredictedAngle;
+
         if (mWheelDrawable != null) {
-            drawWheel(canvas);
+            drawWheel(canvas, angle);
         }
 
         if (mAdapter != null && mAdapterItemCount > 0) {
-           drawWheelItems(canvas);
+           drawWheelItems(canvas, angle);
+        }
+
+        for (int i = 0; i < mRings.size(); i++) {
+            mRings.get(i).onDraw(canvas);
         }
     }
 
-    private void drawWheel(Canvas canvas) {
+    private void drawWheel(Canvas canvas, float angle) {
         if (mIsWheelDrawableRotatable) {
             canvas.save();
-            canvas.rotate(mAngle, mWheelBounds.mCenterX, mWheelBounds.mCenterY);
+            canvas.rotate(angle, mWheelBounds.mCenterX, mWheelBounds.mCenterY);
             mWheelDrawable.draw(canvas);
             canvas.restore();
         } else {
@@ -1224,49 +2304,357 @@ public class WheelView extends View {
         }
     }
 
-    private void drawWheelItems(Canvas canvas) {
-        double angleInRadians = Math.toRadians(mAngle);
-        double cosAngle = Math.cos(angleInRadians);
-        double sinAngle = Math.sin(angleInRadians);
-        float centerX = mWheelBounds.mCenterX;
-        float centerY = mWheelBounds.mCenterY;
+    /**
+     * @param angle the angle to draw the wheel at, which is ahead of mAngle by the touch prediction
+     */
+    private void drawWheelItems(Canvas canvas, float angle) {
+        //the transformer or its scale curve can change after the arcs were found
+        if (getCullingItemScale() != mCullingItemScale) updateVisibleArcs();
+
+        mDrawFrame++;
+        mItemCache.beginFrame();
+        mSelectionDirtyBounds.setEmpty();
+
+        //the only trigonometry per frame, each item is rotated by the same angle
+        double angleInRadians = Math.toRadians(angle);
+        float cosAngle = (float) Math.cos(angleInRadians);
+        float sinAngle = (float) Math.sin(angleInRadians);
+
+        RotationCache rotationCache = getRotationCache();
+        if (rotationCache != null) rotationCache.beginFrame();
+        ItemAtlas itemAtlas = rotationCache == null ? getItemAtlas() : null;
+        if (itemAtlas != null) itemAtlas.beginFrame();
+
+        mItemBatch.mCount = 0;
+        if (mItemAngleIndex != null) {
+            addVariableAngleItems(angle);
+        } else {
+            mItemStateCount = mItemCount;
+            addWheelItems(angle, cosAngle, sinAngle);
+        }
+
+        boolean hasDrawState = transformItemBatch();
+        drawItemBatch(canvas, rotationCache, itemAtlas, hasDrawState);
 
+        if (rotationCache != null) {
+            drawCachedWheelItems(canvas, rotationCache, angle);
+        } else if (itemAtlas != null) {
+            itemAtlas.draw(canvas);
+        }
+
+        if (mAdapter instanceof RecyclingWheelAdapter) {
+            recycleHiddenItems((RecyclingWheelAdapter<?>) mAdapter);
+        }
+        mItemCache.trimToCapacity();
+
+        if (mAdapter instanceof AsyncWheelAdapter) {
+            prefetchWheelItems((AsyncWheelAdapter) mAdapter);
+        }
+    }
+
+    /**
+     * Hands the drawables of the items that weren't visited this frame back to the adapter, so
+     * that they can be bound to the items coming into view.
+     */
+    private void recycleHiddenItems(RecyclingWheelAdapter<?> adapter) {
+        for (CacheItem cacheItem = mItemCache.getFirst(); cacheItem != null; cacheItem = cacheItem.mNext) {
+            if (mItemCache.isInFrame(cacheItem) || cacheItem.mDrawable == null) continue;
+
+            adapter.recycleDrawable(cacheItem.mDrawable, cacheItem.mViewType);
+            cacheItem.mDrawable = null;
+            cacheItem.mDirty = true;
+        }
+    }
+
+    /**
+     * Starts loading the items that the wheel is moving towards, from the selected item to past
+     * the far edge of the wheel, so they have loaded by the time they become visible.
+     */
+    private void prefetchWheelItems(AsyncWheelAdapter adapter) {
+        float velocity;
+        if (!mScroller.isFinished()) {
+            velocity = mScroller.getCurrVelocity();
+        } else if (mIsDraggingWheel) {
+            velocity = mLastDraggedAngle;
+        } else {
+            return;
+        }
+        if (velocity == 0f) return;
+
+        //a positive angular velocity selects lower positions
+        int direction = velocity > 0f ? -1 : 1;
+        int count = mItemCount / 2 + PREFETCH_ITEM_COUNT;
+        for (int i = 1; i <= count; i++) {
+            int adapterPosition = rawPositionToAdapterPosition(mRawSelectedPosition + direction * i);
+            if (isEmptyItemPosition(adapterPosition)) break;
+
+            CacheItem cacheItem = mItemCache.peek(adapterPosition);
+            if (cacheItem == null || cacheItem.mDirty) {
+                adapter.prefetch(adapterPosition);
+            }
+        }
+    }
+
+    private void addWheelItems(float angle, float cosAngle, float sinAngle) {
         int wheelItemOffset = mItemCount / 2;
         int offset = mRawSelectedPosition - wheelItemOffset;
-        int length = mItemCount + offset;
-        for (int i = offset; i < length; i++) {
+        int firstWheelItemPosition = rawPositionToWheelPosition(offset);
+        float wrapAngle = (mItemCount - 1) * mItemAngle;
+
+        //only the positions on the visible arc of the wheel are visited, unless every item has to
+        //be visited to report when it goes out of view
+        int rangeCount;
+        if (mOnItemVisibilityChangeListener != null) {
+            rangeCount = 1;
+        } else {
+            float firstAngle = angle - mSelectionAngle;
+            rangeCount = mVisibleArcs.computeRanges(firstAngle, mItemAngle, mItemCount, firstWheelItemPosition);
+        }
+
+        for (int range = 0; range < rangeCount; range++) {
+            int start, end;
+            if (mOnItemVisibilityChangeListener != null) {
+                start = offset;
+                end = offset + mItemCount - 1;
+            } else {
+                start = offset + mVisibleArcs.getRangeStart(range);
+                end = offset + mVisibleArcs.getRangeEnd(range);
+            }
+            addWheelItemRange(start, end, angle, cosAngle, sinAngle, wrapAngle);
+        }
+    }
+
+    /**
+     * Adds the items of a {@link VariableAngleWheelAdapter} on the visible arcs of the wheel, within
+     * half a turn either side of the selection. The item at each end of an arc is found from the
+     * angle index, so only the visible items are visited.
+     */
+    private void addVariableAngleItems(float angle) {
+        //the selection's angle measured like getAngleForPosition
+        float selectionAngle = -angle;
+
+        int angleRangeCount;
+        if (mOnItemVisibilityChangeListener != null) {
+            //every item has to be visited to report when it goes out of view
+            angleRangeCount = 1;
+        } else {
+            angleRangeCount = mVisibleArcs.computeAngleRanges(angle - mSelectionAngle, selectionAngle);
+        }
+
+        mItemStateCount = 0;
+        mItemStateRangeCount = 0;
+        if (mAdapterItemCount == 0) return;
+
+        for (int range = 0; range < angleRangeCount; range++) {
+            float startAngle, endAngle;
+            if (mOnItemVisibilityChangeListener != null) {
+                startAngle = selectionAngle - 180f;
+                endAngle = selectionAngle + 180f;
+            } else {
+                startAngle = mVisibleArcs.getAngleRangeStart(range);
+                endAngle = mVisibleArcs.getAngleRangeEnd(range);
+            }
+
+            //the ranges are sorted, so the raw positions are too
+            int start = angleToRawPosition(-startAngle);
+            int end = angleToRawPosition(-endAngle);
+            int rangeCount = mItemStateRangeCount;
+            if (rangeCount > 0 && start <= mItemStateRangeEnds[rangeCount - 1] + 1) {
+                start = mItemStateRangeEnds[rangeCount - 1] + 1;
+                if (start > end) continue;
+                mItemStateRangeEnds[rangeCount - 1] = end;
+            } else {
+                mItemStateRangeStarts[rangeCount] = start;
+                mItemStateRangeEnds[rangeCount] = end;
+                mItemStateRangeOffsets[rangeCount] = mItemStateCount;
+                mItemStateRangeCount++;
+            }
+            addVariableAngleItemRange(start, end, angle);
+        }
+    }
+
+    /**
+     * Positions the items of a {@link VariableAngleWheelAdapter} between the raw positions start
+     * and end, inclusive, and adds them to the item batch. Each item is given the next item state.
+     */
+    private void addVariableAngleItemRange(int start, int end, float wheelAngle) {
+        ItemBatch batch = mItemBatch;
+        ItemAngleIndex index = mItemAngleIndex;
+        float centerX = mWheelBounds.mCenterX;
+        float centerY = mWheelBounds.mCenterY;
+
+        //the wheel angle of the item's center, stepped from item to item
+        float angle = getAngleForPosition(start) + wheelAngle;
+        float previousItemAngle = 0f;
+        for (int i = start; i <= end; i++) {
+            int adapterPosition = rawPositionToAdapterPosition(i);
+            float itemAngle = index.getAngle(adapterPosition);
+            if (i != start) angle += (previousItemAngle + itemAngle) / 2f;
+            previousItemAngle = itemAngle;
+
+            double angleInRadians = Math.toRadians(angle - mSelectionAngle);
+            float x = centerX + mWheelToItemDistance * (float) Math.cos(angleInRadians);
+            float y = centerY + mWheelToItemDistance * (float) Math.sin(angleInRadians);
+            float radius = mItemRadius * itemAngle / mItemAngle;
+            float angleFromSelection = Circle.clamp180(-angle);
+
+            int statePosition = mItemStateCount++;
+            if (statePosition == mItemStates.length) ensureItemCapacity(statePosition * 2 + 1);
+            ItemState itemState = mItemStates[statePosition];
+            updateItemState(itemState, i, adapterPosition, angleFromSelection, x, y, radius);
+
+            int batchIndex = batch.mCount++;
+            if (batchIndex == batch.mCenterX.length) batch.ensureCapacity(batchIndex * 2 + 1);
+            batch.mCenterX[batchIndex] = x;
+            batch.mCenterY[batchIndex] = y;
+            batch.mRadii[batchIndex] = radius;
+            batch.mAnglesFromSelection[batchIndex] = angleFromSelection;
+            batch.mRelativePositions[batchIndex] = itemState.mRelativePos;
+            batch.mRawPositions[batchIndex] = i;
+            batch.mAdapterPositions[batchIndex] = adapterPosition;
+            batch.mWheelPositions[batchIndex] = statePosition;
+        }
+    }
+
+    /**
+     * Positions the items between the raw positions start and end, inclusive, and adds them to
+     * the item batch.
+     */
+    private void addWheelItemRange(int start, int end, float angle, float cosAngle, float sinAngle, float wrapAngle) {
+        ItemBatch batch = mItemBatch;
+        float centerX = mWheelBounds.mCenterX;
+        float centerY = mWheelBounds.mCenterY;
+
+        //the angle from the selection is found for the first item and then stepped along the
+        //wheel rather than measuring each item's angle with atan2
+        float angleFromSelection = Circle.clamp180(-(rawPositionToWheelPosition(start) * mItemAngle + angle));
+
+        for (int i = start; i <= end; i++) {
             int adapterPosition = rawPositionToAdapterPosition(i);
             int wheelItemPosition = rawPositionToWheelPosition(i, adapterPosition);
 
-            Circle itemBounds = mWheelItemBounds.get(wheelItemPosition);
-            float radius = itemBounds.mRadius;
+            if (i != start) {
+                //consecutive raw positions are consecutive wheel positions, except at the wrap
+                angleFromSelection += wheelItemPosition == 0 ? wrapAngle : -mItemAngle;
+                if (angleFromSelection > 180f) angleFromSelection -= 360f;
+                else if (angleFromSelection < -180f) angleFromSelection += 360f;
+            }
+
+            float radius = mItemRadii[wheelItemPosition];
 
             //translate before rotating so that origin is at the wheel's center
-            float x = itemBounds.mCenterX - centerX;
-            float y = itemBounds.mCenterY - centerY;
+            float x = mItemCenterX[wheelItemPosition] - centerX;
+            float y = mItemCenterY[wheelItemPosition] - centerY;
 
             //rotate
-            float x1 = (float) (x * cosAngle - y * sinAngle);
-            float y1 = (float) (x * sinAngle + y * cosAngle);
+            float x1 = x * cosAngle - y * sinAngle;
+            float y1 = x * sinAngle + y * cosAngle;
 
             //translate back after rotation
             x1 += centerX;
             y1 += centerY;
 
-            ItemState itemState = mItemStates.get(wheelItemPosition);
-            updateItemState(itemState, adapterPosition, x1, y1, radius);
-            mItemTransformer.transform(itemState, sTempRect);
+            ItemState itemState = mItemStates[wheelItemPosition];
+            updateItemState(itemState, i, adapterPosition, angleFromSelection, x1, y1, radius);
+
+            int index = batch.mCount++;
+            batch.mCenterX[index] = x1;
+            batch.mCenterY[index] = y1;
+            batch.mRadii[index] = radius;
+            batch.mAnglesFromSelection[index] = angleFromSelection;
+            batch.mRelativePositions[index] = itemState.mRelativePos;
+            batch.mRawPositions[index] = i;
+            batch.mAdapterPositions[index] = adapterPosition;
+            batch.mWheelPositions[index] = wheelItemPosition;
+        }
+    }
+
+    /**
+     * Finds the draw bounds of every item in the batch, and the selection drawable's alpha if the
+     * selection transformer only changes the alpha.
+     *
+     * @return {@code true} if the item transformer also set how each drawable is drawn
+     */
+    private boolean transformItemBatch() {
+        ItemBatch batch = mItemBatch;
+        int[] bounds = batch.mBounds;
+        if (mItemTransformer instanceof BatchItemTransformer) {
+            ((BatchItemTransformer) mItemTransformer).transform(batch, bounds);
+        } else {
+            for (int i = 0; i < batch.mCount; i++) {
+                mItemTransformer.transform(mItemStates[batch.mWheelPositions[i]], mTempRect);
+                int j = i * 4;
+                bounds[j] = mTempRect.left;
+                bounds[j + 1] = mTempRect.top;
+                bounds[j + 2] = mTempRect.right;
+                bounds[j + 3] = mTempRect.bottom;
+            }
+        }
+
+        if (mSelectionDrawable != null && mSelectionTransformer instanceof BatchSelectionTransformer) {
+            ((BatchSelectionTransformer) mSelectionTransformer).transform(batch, batch.mAlphas);
+        }
+
+        if (!(mItemTransformer instanceof BatchItemDrawTransformer)) return false;
+
+        ((BatchItemDrawTransformer) mItemTransformer).transform(batch, batch.mItemAlphas, batch.mRotations, batch.mElevations);
+        sortByElevation(batch);
+        return true;
+    }
+
+    /**
+     * Orders the batch's draw order from the lowest to the highest elevation, keeping the wheel
+     * order between equal elevations.
+     */
+    private static void sortByElevation(ItemBatch batch) {
+        //an insertion sort as there are few items and neighbouring items tend to be in order
+        int[] order = batch.mDrawOrder;
+        float[] elevations = batch.mElevations;
+        for (int i = 0; i < batch.mCount; i++) {
+            int index = i;
+            float elevation = elevations[index];
+            int j = i - 1;
+            while (j >= 0 && elevations[order[j]] > elevation) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = index;
+        }
+    }
 
-            //Empty positions can only occur from having "non repeatable" items
-            CacheItem cacheItem = getCacheItem(adapterPosition);
+    /**
+     * Draws the items in the batch that are within the view bounds.
+     */
+    private void drawItemBatch(Canvas canvas, RotationCache rotationCache, ItemAtlas itemAtlas, boolean hasDrawState) {
+        ItemBatch batch = mItemBatch;
+        int[] bounds = batch.mBounds;
+        for (int n = 0; n < batch.mCount; n++) {
+            int index = hasDrawState ? batch.mDrawOrder[n] : n;
+            int i = batch.mRawPositions[index];
+            int adapterPosition = batch.mAdapterPositions[index];
+            int wheelItemPosition = batch.mWheelPositions[index];
+            ItemState itemState = mItemStates[wheelItemPosition];
+            int j = index * 4;
+            mTempRect.set(bounds[j], bounds[j + 1], bounds[j + 2], bounds[j + 3]);
 
             //don't draw if outside of the view bounds
-            if (Rect.intersects(sTempRect, mViewBounds)) {
-                if (cacheItem.mDirty && !cacheItem.mIsEmpty) {
-                    cacheItem.mDrawable = mAdapter.getDrawable(adapterPosition);
-                    cacheItem.mDirty = false;
+            if (Rect.intersects(mTempRect, mViewBounds)) {
+                //Empty positions can only occur from having "non repeatable" items
+                CacheItem cacheItem = getCacheItem(adapterPosition);
+
+                itemState.mDrawnBounds.set(mTempRect);
+                itemState.mDrawnFrame = mDrawFrame;
+                if (hasDrawState && batch.mRotations[index] != 0f) {
+                    //a rotated item can reach out to its bounds' circumcircle
+                    int inset = (int) Math.ceil(Math.max(mTempRect.width(), mTempRect.height()) * (SQRT_2 - 1f) / 2f);
+                    itemState.mDrawnBounds.inset(-inset, -inset);
                 }
 
+                if (cacheItem.mDirty && !cacheItem.mIsEmpty && itemAtlas != null) {
+                    itemAtlas.evict(adapterPosition);
+                }
+                getItemDrawable(cacheItem, adapterPosition);
+
                 if (!cacheItem.mIsVisible) {
                     cacheItem.mIsVisible = true;
                     if (mOnItemVisibilityChangeListener != null) {
@@ -1275,18 +2663,28 @@ public class WheelView extends View {
                 }
 
                 if (i == mRawSelectedPosition && mSelectionDrawable != null && !isEmptyItemPosition(i)) {
-                    mSelectionDrawable.setBounds(sTempRect.left - mSelectionPadding, sTempRect.top - mSelectionPadding,
-                            sTempRect.right + mSelectionPadding, sTempRect.bottom + mSelectionPadding);
-                    mSelectionTransformer.transform(mSelectionDrawable, itemState);
+                    mSelectionDrawable.setBounds(mTempRect.left - mSelectionPadding, mTempRect.top - mSelectionPadding,
+                            mTempRect.right + mSelectionPadding, mTempRect.bottom + mSelectionPadding);
+                    if (mSelectionTransformer instanceof BatchSelectionTransformer) {
+                        mSelectionDrawable.setAlpha(batch.mAlphas[index]);
+                    } else {
+                        mSelectionTransformer.transform(mSelectionDrawable, itemState);
+                    }
                     mSelectionDrawable.draw(canvas);
+                    mSelectionDirtyBounds.set(mSelectionDrawable.getBounds());
                 }
 
-                Drawable drawable = cacheItem.mDrawable;
-                if (drawable != null) {
-                    drawable.setBounds(sTempRect);
-                    drawable.draw(canvas);
+                if (rotationCache != null) {
+                    //the item is drawn from the cache once all visible items are known
+                    rotationCache.addKey(wheelItemPosition, adapterPosition);
+                } else if (hasDrawState) {
+                    drawItemDrawable(canvas, cacheItem.mDrawable, mTempRect, batch.mItemAlphas[index], batch.mRotations[index]);
+                } else if (itemAtlas == null || !itemAtlas.addItem(adapterPosition, cacheItem.mDrawable, mTempRect)) {
+                    drawItemDrawable(canvas, cacheItem.mDrawable, mTempRect);
                 }
             } else {
+                //the item isn't used this frame, so it is only looked up and can be evicted
+                CacheItem cacheItem = isEmptyItemPosition(adapterPosition) ? mEmptyCacheItem : mItemCache.peek(adapterPosition);
                 if (cacheItem != null && cacheItem.mIsVisible) {
                     cacheItem.mIsVisible = false;
                     if (mOnItemVisibilityChangeListener != null) {
@@ -1297,6 +2695,103 @@ public class WheelView extends View {
         }
     }
 
+    private void drawItemDrawable(Canvas canvas, Drawable drawable, Rect bounds) {
+        if (drawable != null) {
+            drawable.setBounds(bounds);
+            drawable.draw(canvas);
+        }
+    }
+
+    private void drawItemDrawable(Canvas canvas, Drawable drawable, Rect bounds, int alpha, float rotation) {
+        if (drawable == null || alpha == 0) return;
+
+        drawable.setBounds(bounds);
+        drawable.setAlpha(alpha);
+        if (rotation != 0f) {
+            canvas.save();
+            canvas.rotate(rotation, bounds.exactCenterX(), bounds.exactCenterY());
+            drawable.draw(canvas);
+            canvas.restore();
+        } else {
+            drawable.draw(canvas);
+        }
+    }
+
+    /**
+     * @return the rotation cache if the items only need rotating between frames, otherwise null
+     */
+    private RotationCache getRotationCache() {
+        if (!mIsRotationCacheEnabled || mOnItemVisibilityChangeListener != null || mItemAngleIndex != null
+                || !(mItemTransformer instanceof RotationInvariantTransformer)) {
+            return null;
+        }
+
+        if (mRotationCache == null) {
+            mRotationCache = new RotationCache();
+        }
+        return mRotationCache;
+    }
+
+    /**
+     * @return the item atlas if it is enabled, otherwise null
+     */
+    private ItemAtlas getItemAtlas() {
+        //the atlas can't fade or rotate single items, nor hold items of different sizes
+        if (!mIsItemAtlasEnabled || mItemTransformer instanceof BatchItemDrawTransformer
+                || mItemAngleIndex != null) {
+            return null;
+        }
+
+        if (mItemAtlas == null) {
+            //the atlas holds a wheel's worth of items so that only newly visible items are rasterised
+            mItemAtlas = new ItemAtlas(mItemRadius, mItemCount);
+        }
+        return mItemAtlas;
+    }
+
+    /**
+     * Draws the visible items of this frame from the rotation cache, first recording them into
+     * the cache if they have changed since it was last built.
+     */
+    private void drawCachedWheelItems(Canvas canvas, RotationCache rotationCache, float angle) {
+        float centerX = mWheelBounds.mCenterX;
+        float centerY = mWheelBounds.mCenterY;
+        int count = rotationCache.getKeyCount();
+
+        if (rotationCache.requiresRebuild()) {
+            //the layer must hold the items at any rotation so it covers their furthest extent
+            float maxRadius = 0f;
+            for (int i = 0; i < count; i++) {
+                mItemTransformer.transform(mItemStates[rotationCache.getWheelPosition(i)], mTempRect);
+                maxRadius = Math.max(maxRadius, getFurthestDistance(mTempRect, centerX, centerY));
+            }
+
+            int maxArea = mWidth * mHeight * MAX_ROTATION_CACHE_VIEW_AREAS;
+            Canvas layerCanvas = rotationCache.beginRecording(canvas, angle, centerX, centerY, maxRadius + 1f, maxArea);
+            if (layerCanvas == null) {
+                //too large to cache so draw the items directly
+                layerCanvas = canvas;
+            }
+
+            for (int i = 0; i < count; i++) {
+                ItemState itemState = mItemStates[rotationCache.getWheelPosition(i)];
+                mItemTransformer.transform(itemState, mTempRect);
+                drawItemDrawable(layerCanvas, getCacheItem(itemState.mAdapterPosition).mDrawable, mTempRect);
+            }
+
+            if (layerCanvas == canvas) return;
+            rotationCache.endRecording();
+        }
+
+        rotationCache.draw(canvas, angle, centerX, centerY);
+    }
+
+    private static float getFurthestDistance(Rect rect, float x, float y) {
+        float dx = Math.max(Math.abs(rect.left - x), Math.abs(rect.right - x));
+        float dy = Math.max(Math.abs(rect.top - y), Math.abs(rect.bottom - y));
+        return (float) Math.sqrt(dx * dx + dy * dy);
+    }
+
     /**
      * The ItemState is used to provide extra information when transforming the selection drawable
      * or item bounds.
@@ -1306,8 +2801,13 @@ public class WheelView extends View {
         Circle mBounds;
         float mAngleFromSelection;
         float mRelativePos;
+        int mRawPosition;
         int mAdapterPosition; //TODO
 
+        //where the item was drawn and the frame it was drawn in, used to invalidate only that area
+        final Rect mDrawnBounds = new Rect();
+        int mDrawnFrame;
+
         private ItemState() {
             mBounds = new Circle();
         }
@@ -1329,28 +2829,163 @@ public class WheelView extends View {
         }
     }
 
-    private void updateItemState(ItemState itemState, int adapterPosition,
-                                 float x, float y, float radius) {
-        float itemAngle = mWheelBounds.angleToDegrees(x, y);
-        float angleFromSelection = Circle.shortestAngle(itemAngle, mSelectionAngle);
+    /**
+     * The items visited in a frame, laid out as arrays so that a {@link BatchItemTransformer} or
+     * {@link BatchSelectionTransformer} can transform every item in one call. Each array holds
+     * {@link #getCount()} valid values.
+     */
+    public static class ItemBatch {
+        int mCount;
+        float[] mCenterX = new float[0];
+        float[] mCenterY = new float[0];
+        float[] mRadii = new float[0];
+        float[] mAnglesFromSelection = new float[0];
+        float[] mRelativePositions = new float[0];
+        int[] mRawPositions = new int[0];
+        int[] mAdapterPositions = new int[0];
+        int[] mWheelPositions = new int[0];
+
+        //the transformer outputs
+        int[] mBounds = new int[0];
+        int[] mAlphas = new int[0];
+        int[] mItemAlphas = new int[0];
+        float[] mRotations = new float[0];
+        float[] mElevations = new float[0];
+        int[] mDrawOrder = new int[0];
+
+        private ItemBatch() {
+        }
+
+        void ensureCapacity(int capacity) {
+            if (mCenterX.length >= capacity) return;
+
+            //the items already added this frame are kept
+            mCenterX = Arrays.copyOf(mCenterX, capacity);
+            mCenterY = Arrays.copyOf(mCenterY, capacity);
+            mRadii = Arrays.copyOf(mRadii, capacity);
+            mAnglesFromSelection = Arrays.copyOf(mAnglesFromSelection, capacity);
+            mRelativePositions = Arrays.copyOf(mRelativePositions, capacity);
+            mRawPositions = Arrays.copyOf(mRawPositions, capacity);
+            mAdapterPositions = Arrays.copyOf(mAdapterPositions, capacity);
+            mWheelPositions = Arrays.copyOf(mWheelPositions, capacity);
+            mBounds = new int[capacity * 4];
+            mAlphas = new int[capacity];
+            mItemAlphas = new int[capacity];
+            mRotations = new float[capacity];
+            mElevations = new float[capacity];
+            mDrawOrder = new int[capacity];
+        }
+
+        public int getCount() {
+            return mCount;
+        }
+
+        public float[] getCenterX() {
+            return mCenterX;
+        }
+
+        public float[] getCenterY() {
+            return mCenterY;
+        }
+
+        public float[] getRadii() {
+            return mRadii;
+        }
+
+        public float[] getAnglesFromSelection() {
+            return mAnglesFromSelection;
+        }
+
+        public float[] getRelativePositions() {
+            return mRelativePositions;
+        }
+
+        /**
+         * @see WheelView#rawPositionToAdapterPosition(int)
+         */
+        public int[] getAdapterPositions() {
+            return mAdapterPositions;
+        }
+    }
+
+    private void updateItemState(ItemState itemState, int rawPosition, int adapterPosition,
+                                 float angleFromSelection, float x, float y, float radius) {
         float relativePos = angleFromSelection / mItemAngle * 2f;
 
         itemState.mAngleFromSelection = angleFromSelection;
         itemState.mRelativePos = relativePos;
         itemState.mBounds.mCenterX = x;
         itemState.mBounds.mCenterY = y;
+        itemState.mRawPosition = rawPosition;
         itemState.mAdapterPosition = adapterPosition;
 
         //TODO The radius is always known - doesn't really need this?
         itemState.mBounds.mRadius = radius;
     }
 
-    private ItemState getClickedItem(float touchX, float touchY) {
-        for (ItemState state : mItemStates) {
-            Circle itemBounds = state.mBounds;
-            if (itemBounds.contains(touchX, touchY)) return state;
+    /**
+     * Finds the item drawn at a point in the view. The touch angle gives the only item that can be
+     * at the point, so only it and its neighbours are checked against where they were drawn.
+     *
+     * @return the adapter position of the item, or {@link #NO_POSITION} if there isn't one
+     */
+    public int findPositionAt(float x, float y) {
+        ItemState itemState = findItemStateAt(x, y);
+        return itemState != null ? itemState.mAdapterPosition : NO_POSITION;
+    }
+
+    private ItemState findItemStateAt(float x, float y) {
+        if (mWheelBounds == null || mItemStates == null || mAdapterItemCount == 0) return null;
+
+        //the point's angle on the wheel relative to the selected item, y goes down like the layout
+        float pointAngle = (float) Math.toDegrees(Math.atan2(y - mWheelBounds.mCenterY, x - mWheelBounds.mCenterX));
+        float selectedItemAngle = getAngleForPosition(mRawSelectedPosition);
+        float angleFromSelected = Circle.clamp180(pointAngle + mSelectionAngle - mAngle - selectedItemAngle);
+        int rawPosition = angleToRawPosition(-(selectedItemAngle + angleFromSelected));
+
+        //neighbouring items can overlap once transformed, the closest center wins
+        ItemState closestState = null;
+        float closestDistance = Float.MAX_VALUE;
+        for (int i = rawPosition - 1; i <= rawPosition + 1; i++) {
+            ItemState itemState = getDrawnItemState(i);
+            if (itemState == null) continue;
+
+            Rect bounds = itemState.mDrawnBounds;
+            float dx = x - bounds.exactCenterX();
+            float dy = y - bounds.exactCenterY();
+            float radius = Math.min(bounds.width(), bounds.height()) / 2f;
+            float distance = dx * dx + dy * dy;
+            if (distance <= radius * radius && distance < closestDistance) {
+                closestDistance = distance;
+                closestState = itemState;
+            }
         }
-        return null;
+        return closestState;
+    }
+
+    /**
+     * @return the item state of the raw position if it was drawn in the last frame, otherwise null
+     */
+    private ItemState getDrawnItemState(int rawPosition) {
+        int adapterPosition = rawPositionToAdapterPosition(rawPosition);
+        if (isEmptyItemPosition(adapterPosition)) return null;
+
+        int statePosition = -1;
+        if (mItemAngleIndex != null) {
+            for (int range = 0; range < mItemStateRangeCount; range++) {
+                if (rawPosition >= mItemStateRangeStarts[range] && rawPosition <= mItemStateRangeEnds[range]) {
+                    statePosition = mItemStateRangeOffsets[range] + rawPosition - mItemStateRangeStarts[range];
+                    break;
+                }
+            }
+        } else {
+            statePosition = rawPositionToWheelPosition(rawPosition, adapterPosition);
+        }
+        if (statePosition < 0 || statePosition >= mItemStateCount) return null;
+
+        ItemState itemState = mItemStates[statePosition];
+        if (itemState.mDrawnFrame != mDrawFrame || itemState.mRawPosition != rawPosition) return null;
+        return itemState;
     }
 
     static class CacheItem {
@@ -1358,6 +2993,14 @@ public class WheelView extends View {
         boolean mIsVisible;
         boolean mIsEmpty;
         Drawable mDrawable;
+        int mViewType;
+
+        //the cache's bookkeeping, see ItemCache
+        int mPosition;
+        int mUsedFrame;
+        int mGeneration;
+        CacheItem mPrevious;
+        CacheItem mNext;
 
         CacheItem() {
             mDirty = true;
@@ -1370,14 +3013,33 @@ public class WheelView extends View {
     }
 
     private CacheItem getCacheItem(int position) {
-        if (isEmptyItemPosition(position)) return EMPTY_CACHE_ITEM;
+        if (isEmptyItemPosition(position)) return mEmptyCacheItem;
 
-        CacheItem cacheItem = mItemCacheArray[position];
-        if (cacheItem == null) {
-            cacheItem = new CacheItem();
-            mItemCacheArray[position] = cacheItem;
+        return mItemCache.obtain(position);
+    }
+
+    /**
+     * A ring of a {@link WheelView}, which invalidates the wheel it belongs to rather than itself
+     * as it isn't in the view hierarchy.
+     */
+    private static class RingWheelView extends WheelView {
+        final WheelView mHost;
+
+        RingWheelView(Context context, WheelView host) {
+            super(context);
+            mHost = host;
+        }
+
+        @Override
+        public void invalidate() {
+            //the host isn't set whilst the ring is constructed
+            if (mHost != null) mHost.invalidate();
+        }
+
+        @Override
+        void invalidateRect(Rect dirty) {
+            if (mHost != null) mHost.invalidateRect(dirty);
         }
-        return cacheItem;
     }
 
     /**
@@ -0,0 +1,250 @@
+package com.lukedeighton.wheelview.adapter;
+
+import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.os.Process;
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+
+import com.lukedeighton.wheelview.WheelView;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * <p>
+ * A {@link WheelAdapter} whose drawables are loaded on a background {@link Executor}, so that
+ * decoding images or laying out text doesn't hold up drawing the wheel. A placeholder is drawn
+ * until an item has loaded, only that item is then redrawn.
+ * </p>
+ *
+ * <p>
+ * The {@link WheelView} prefetches the items ahead of the wheel in the direction it is moving.
+ * Loaded drawables are delivered on the thread that set the adapter on the WheelView.
+ * </p>
+ */
+public abstract class AsyncWheelAdapter extends BaseWheelAdapter {
+
+    private static final int DEFAULT_THREAD_COUNT = 2;
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    //loaded drawables are handed over to the wheel once drawn, this limits prefetched ones
+    private static final int MAX_LOADED_DRAWABLES = 32;
+
+    private static Executor sDefaultExecutor;
+
+    private final Executor mExecutor;
+    private final SparseArray<Drawable> mLoadedDrawables = new SparseArray<Drawable>();
+    private final SparseBooleanArray mLoadingPositions = new SparseBooleanArray();
+    private WheelView mWheelView;
+    private Handler mHandler;
+    private int mGeneration;
+    private int mLastPosition;
+
+    /**
+     * Loads the drawables on an executor with background priority threads shared by every
+     * AsyncWheelAdapter.
+     */
+    public AsyncWheelAdapter() {
+        this(getDefaultExecutor());
+    }
+
+    public AsyncWheelAdapter(Executor executor) {
+        if (executor == null) throw new IllegalArgumentException("Executor cannot be null");
+        mExecutor = executor;
+
+        //loads are keyed by position, so they can't be trusted once the items change
+        registerObserver(new WheelAdapterObserver() {
+            @Override
+            public void onChanged() {
+                dropLoads();
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount) {
+                dropLoads();
+            }
+
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                dropLoads();
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                dropLoads();
+            }
+        });
+    }
+
+    /**
+     * @return the executor shared by the adapters that load their items in the background
+     */
+    static synchronized Executor getDefaultExecutor() {
+        if (sDefaultExecutor == null) {
+            sDefaultExecutor = Executors.newFixedThreadPool(DEFAULT_THREAD_COUNT, new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    Thread thread = new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                            runnable.run();
+                        }
+                    }, "WheelAdapterLoader");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return sDefaultExecutor;
+    }
+
+    /**
+     * Called on a background thread. If this throws a RuntimeException the placeholder is kept
+     * and the item is loaded again later.
+     *
+     * @return the drawable at the adapter position, or null to keep drawing the placeholder
+     */
+    protected abstract Drawable loadDrawable(int position);
+
+    /**
+     * @return the drawable drawn until the item has loaded, by default the WheelView's empty
+     * item drawable
+     */
+    protected Drawable getPlaceholder(int position) {
+        return mWheelView != null ? mWheelView.getEmptyItemDrawable() : null;
+    }
+
+    /**
+     * @return the loaded drawable, otherwise the placeholder whilst the drawable is loaded
+     */
+    @Override
+    public final Drawable getDrawable(int position) {
+        mLastPosition = position;
+
+        Drawable drawable = mLoadedDrawables.get(position);
+        if (drawable != null) {
+            //the wheel keeps hold of the drawable from now on
+            mLoadedDrawables.remove(position);
+            return drawable;
+        }
+
+        load(position);
+        return getPlaceholder(position);
+    }
+
+    /**
+     * Starts loading the item if it isn't already loading or loaded.
+     */
+    public void prefetch(int position) {
+        if (mLoadedDrawables.get(position) == null) {
+            load(position);
+        }
+    }
+
+    private void load(final int position) {
+        if (mHandler == null || mLoadingPositions.get(position)) return;
+
+        mLoadingPositions.put(position, true);
+        final int generation = mGeneration;
+        final Handler handler = mHandler;
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                Drawable loadedDrawable = null;
+                boolean isFailed = false;
+                try {
+                    loadedDrawable = loadDrawable(position);
+                } catch (RuntimeException e) {
+                    isFailed = true;
+                }
+
+                final Drawable drawable = loadedDrawable;
+                final boolean isRetried = isFailed;
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        onDrawableLoaded(generation, position, drawable, isRetried);
+                    }
+                });
+            }
+        });
+    }
+
+    private void onDrawableLoaded(int generation, int position, Drawable drawable, boolean isRetried) {
+        //the adapter was detached or its items changed since the load started
+        if (generation != mGeneration) return;
+
+        mLoadingPositions.delete(position);
+        if (isRetried) {
+            retryDrawable(generation, position);
+            return;
+        }
+        if (drawable == null) return;
+
+        mLoadedDrawables.put(position, drawable);
+        trimLoadedDrawables();
+        mWheelView.invalidateWheelItemDrawable(position);
+    }
+
+    /**
+     * The wheel keeps drawing the placeholder it was given, so after a delay the item is
+     * invalidated for the wheel to ask for it, and the drawable to be loaded, again.
+     */
+    private void retryDrawable(final int generation, final int position) {
+        mHandler.postDelayed(new Runnable() {
+            @Override
+            public void run() {
+                if (generation == mGeneration) mWheelView.invalidateWheelItemDrawable(position);
+            }
+        }, RETRY_DELAY_MILLIS);
+    }
+
+    /**
+     * Drops the loaded drawables furthest from the last requested position.
+     */
+    private void trimLoadedDrawables() {
+        while (mLoadedDrawables.size() > MAX_LOADED_DRAWABLES) {
+            int furthestIndex = 0;
+            int furthestDistance = -1;
+            for (int i = 0; i < mLoadedDrawables.size(); i++) {
+                int distance = Math.abs(mLoadedDrawables.keyAt(i) - mLastPosition);
+                if (distance > furthestDistance) {
+                    furthestDistance = distance;
+                    furthestIndex = i;
+                }
+            }
+            mLoadedDrawables.removeAt(furthestIndex);
+        }
+    }
+
+    /**
+     * Loaded drawables are delivered to the thread this is called on.
+     */
+    @Override
+    public void onAttachedToWheel(WheelView wheelView) {
+        mWheelView = wheelView;
+        mHandler = new Handler();
+    }
+
+    /**
+     * The results of pending loads are dropped.
+     */
+    @Override
+    public void onDetachedFromWheel(WheelView wheelView) {
+        mWheelView = null;
+        mHandler = null;
+        dropLoads();
+    }
+
+    /**
+     * Forgets the loaded drawables and ignores the results of pending loads.
+     */
+    private void dropLoads() {
+        mGeneration++;
+        mLoadingPositions.clear();
+        mLoadedDrawables.clear();
+    }
+}
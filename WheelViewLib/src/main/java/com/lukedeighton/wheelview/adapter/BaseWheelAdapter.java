@@ -0,0 +1,101 @@
+package com.lukedeighton.wheelview.adapter;
+
+import com.lukedeighton.wheelview.WheelView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * A {@link WheelAdapter} that tells its {@link WheelAdapterObserver}s which items have changed, so
+ * that a {@link WheelView} only refreshes those items rather than the whole adapter. Inserting or
+ * removing items keeps the same item selected.
+ * </p>
+ *
+ * <p>
+ * Call the matching notify method after changing the adapter's data.
+ * </p>
+ */
+public abstract class BaseWheelAdapter implements WheelAdapter {
+
+    private final List<WheelAdapterObserver> mObservers = new ArrayList<WheelAdapterObserver>();
+
+    public void registerObserver(WheelAdapterObserver observer) {
+        if (observer == null) throw new IllegalArgumentException("WheelAdapterObserver cannot be null");
+        if (!mObservers.contains(observer)) mObservers.add(observer);
+    }
+
+    public void unregisterObserver(WheelAdapterObserver observer) {
+        mObservers.remove(observer);
+    }
+
+    /**
+     * Any of the items, including the count, may have changed.
+     */
+    public void notifyDataSetChanged() {
+        for (int i = mObservers.size() - 1; i >= 0; i--) {
+            mObservers.get(i).onChanged();
+        }
+    }
+
+    public void notifyItemChanged(int position) {
+        notifyItemRangeChanged(position, 1);
+    }
+
+    public void notifyItemRangeChanged(int positionStart, int itemCount) {
+        checkRange(positionStart, itemCount);
+        for (int i = mObservers.size() - 1; i >= 0; i--) {
+            mObservers.get(i).onItemRangeChanged(positionStart, itemCount);
+        }
+    }
+
+    public void notifyItemInserted(int position) {
+        notifyItemRangeInserted(position, 1);
+    }
+
+    public void notifyItemRangeInserted(int positionStart, int itemCount) {
+        checkRange(positionStart, itemCount);
+        for (int i = mObservers.size() - 1; i >= 0; i--) {
+            mObservers.get(i).onItemRangeInserted(positionStart, itemCount);
+        }
+    }
+
+    public void notifyItemRemoved(int position) {
+        notifyItemRangeRemoved(position, 1);
+    }
+
+    public void notifyItemRangeRemoved(int positionStart, int itemCount) {
+        checkRange(positionStart, itemCount);
+        for (int i = mObservers.size() - 1; i >= 0; i--) {
+            mObservers.get(i).onItemRangeRemoved(positionStart, itemCount);
+        }
+    }
+
+    /**
+     * Called by the WheelView when the adapter is set, on the thread the WheelView uses the adapter on.
+     */
+    public void onAttachedToWheel(WheelView wheelView) {
+    }
+
+    /**
+     * Called by the WheelView when the adapter is replaced.
+     */
+    public void onDetachedFromWheel(WheelView wheelView) {
+    }
+
+    /**
+     * Called by the WheelView when the adapter is set and whenever a different item is selected,
+     * including whilst the wheel is moving.
+     *
+     * @param rawPosition the selected raw position, which keeps counting past the adapter's items
+     * on a repeatable wheel so that it gives the direction the wheel is moving in
+     * @param position the selected adapter position
+     */
+    public void onWheelSelectionChanged(WheelView wheelView, int rawPosition, int position) {
+    }
+
+    private static void checkRange(int positionStart, int itemCount) {
+        if (positionStart < 0) throw new IllegalArgumentException("Position cannot be negative");
+        if (itemCount < 0) throw new IllegalArgumentException("Item count cannot be negative");
+    }
+}
@@ -0,0 +1,21 @@
+package com.lukedeighton.wheelview.adapter;
+
+import java.util.List;
+
+/**
+ * Loads the items of a {@link PagedWheelAdapter} a page at a time, for example from a database
+ * query with a limit and offset.
+ */
+public interface PageSource<T> {
+
+    /**
+     * Called on a background thread.
+     *
+     * @param offset the adapter position of the first item
+     * @param count the number of items in a page
+     * @return the items from the offset, fewer than the count once the end of the source is
+     * reached, or null if the page couldn't be loaded and should be tried again later. A
+     * RuntimeException thrown from here is treated the same as null
+     */
+    List<T> loadPage(int offset, int count);
+}
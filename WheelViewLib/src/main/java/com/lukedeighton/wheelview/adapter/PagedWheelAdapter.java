@@ -0,0 +1,329 @@
+package com.lukedeighton.wheelview.adapter;
+
+import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+
+import com.lukedeighton.wheelview.WheelView;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>
+ * A {@link WheelAdapter} for more items than can be held in memory. The items are loaded from a
+ * {@link PageSource} a page at a time on a background {@link Executor} as the wheel reaches them,
+ * the next page in the direction the wheel is moving is loaded ahead, and only the pages closest
+ * to the selected item are kept. A placeholder is drawn until an item's page has loaded.
+ * </p>
+ *
+ * <p>
+ * When the number of items isn't known up front, the count grows by a page of placeholders
+ * whenever the selected item comes within a page of the end of the loaded items, until the
+ * source returns a short page. On a repeatable wheel the items drawn across the wrap don't grow
+ * the count, so the wheel wraps to the first item at the end of the items loaded so far.
+ * </p>
+ */
+public abstract class PagedWheelAdapter<T> extends BaseWheelAdapter {
+
+    private static final int DEFAULT_MAX_PAGES = 4;
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final PageSource<T> mSource;
+    private final int mPageSize;
+    private final Executor mExecutor;
+    private final SparseArray<List<T>> mPages = new SparseArray<List<T>>();
+    private final SparseBooleanArray mLoadingPages = new SparseBooleanArray();
+    private final boolean mIsCountKnown;
+    private boolean mIsEndReached;
+    private int mCount;
+    private int mMaxPages = DEFAULT_MAX_PAGES;
+    private WheelView mWheelView;
+    private Handler mHandler;
+    private int mGeneration;
+    private boolean mIsRepeatable;
+    private int mRawSelectedPosition;
+    private int mSelectedPosition;
+    private int mDirection = 1;
+
+    //the end of the full pages loaded so far, when the count isn't known
+    private int mLoadedEnd;
+    private boolean mIsGrowPending;
+
+    /**
+     * The count grows as pages are loaded.
+     */
+    public PagedWheelAdapter(PageSource<T> source, int pageSize) {
+        this(source, pageSize, pageSize, false, AsyncWheelAdapter.getDefaultExecutor());
+    }
+
+    /**
+     * @param count the number of items in the source
+     */
+    public PagedWheelAdapter(PageSource<T> source, int pageSize, int count) {
+        this(source, pageSize, count, true, AsyncWheelAdapter.getDefaultExecutor());
+    }
+
+    /**
+     * @param count the number of items in the source
+     */
+    public PagedWheelAdapter(PageSource<T> source, int pageSize, int count, Executor executor) {
+        this(source, pageSize, count, true, executor);
+    }
+
+    private PagedWheelAdapter(PageSource<T> source, int pageSize, int count, boolean isCountKnown, Executor executor) {
+        if (source == null) throw new IllegalArgumentException("PageSource cannot be null");
+        if (pageSize < 1) throw new IllegalArgumentException("The page size must be at least 1");
+        if (count < 0) throw new IllegalArgumentException("The count cannot be negative");
+        if (executor == null) throw new IllegalArgumentException("Executor cannot be null");
+        mSource = source;
+        mPageSize = pageSize;
+        mCount = count;
+        mIsCountKnown = isCountKnown;
+        mIsEndReached = isCountKnown;
+        mExecutor = executor;
+    }
+
+    /**
+     * @return the drawable for the loaded item at the adapter position
+     */
+    protected abstract Drawable getDrawable(T item, int position);
+
+    /**
+     * @return the drawable drawn until the item's page has loaded, by default the WheelView's
+     * empty item drawable
+     */
+    protected Drawable getPlaceholder(int position) {
+        return mWheelView != null ? mWheelView.getEmptyItemDrawable() : null;
+    }
+
+    @Override
+    public final Drawable getDrawable(int position) {
+        T item = getItem(position);
+        return item != null ? getDrawable(item, position) : getPlaceholder(position);
+    }
+
+    /**
+     * @return the item at the adapter position, or null whilst its page is loaded
+     */
+    public T getItem(int position) {
+        int page = position / mPageSize;
+        int index = position - page * mPageSize;
+
+        List<T> items = mPages.get(page);
+        if (items == null) {
+            load(page);
+            return null;
+        }
+        return index < items.size() ? items.get(index) : null;
+    }
+
+    @Override
+    public int getCount() {
+        return mCount;
+    }
+
+    /**
+     * @param maxPages the number of loaded pages kept, the pages furthest from the selected item
+     * are dropped first. Pages should be large enough that these cover the wheel
+     */
+    public void setMaxPages(int maxPages) {
+        if (maxPages < 1) throw new IllegalArgumentException("At least one page must be kept");
+        mMaxPages = maxPages;
+        trimPages();
+    }
+
+    public int getMaxPages() {
+        return mMaxPages;
+    }
+
+    public int getPageSize() {
+        return mPageSize;
+    }
+
+    /**
+     * Drops the loaded pages so they are loaded again from the source.
+     */
+    @Override
+    public void notifyDataSetChanged() {
+        dropPages();
+        mIsEndReached = mIsCountKnown;
+        mLoadedEnd = 0;
+        super.notifyDataSetChanged();
+    }
+
+    private void load(final int page) {
+        if (mHandler == null || mLoadingPages.get(page) || mPages.get(page) != null) return;
+
+        mLoadingPages.put(page, true);
+        final int generation = mGeneration;
+        final Handler handler = mHandler;
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                List<T> loadedItems;
+                try {
+                    loadedItems = mSource.loadPage(page * mPageSize, mPageSize);
+                } catch (RuntimeException e) {
+                    //treated like a page that couldn't be loaded, so the page is loaded again later
+                    loadedItems = null;
+                }
+
+                final List<T> items = loadedItems;
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        onPageLoaded(generation, page, items);
+                    }
+                });
+            }
+        });
+    }
+
+    private void onPageLoaded(int generation, int page, List<T> items) {
+        //the adapter was detached or its items changed since the load started
+        if (generation != mGeneration) return;
+
+        mLoadingPages.delete(page);
+        if (items == null) {
+            retryPage(generation, page);
+            return;
+        }
+
+        mPages.put(page, items);
+        trimPages();
+
+        int offset = page * mPageSize;
+        int size = Math.min(items.size(), mPageSize);
+        int oldCount = mCount;
+        if (size < mPageSize) {
+            mIsEndReached = true;
+            mCount = offset + size;
+        } else {
+            mLoadedEnd = Math.max(mLoadedEnd, offset + size);
+        }
+
+        if (mCount < oldCount) notifyItemRangeRemoved(mCount, oldCount - mCount);
+        int changedCount = Math.min(offset + size, Math.min(oldCount, mCount)) - offset;
+        if (changedCount > 0) notifyItemRangeChanged(offset, changedCount);
+        growCount();
+    }
+
+    /**
+     * Adds a page of placeholders past the loaded items once the selected item is within a page
+     * of their end, so the wheel can be spun onto them.
+     */
+    private void growCount() {
+        if (!canGrow()) return;
+
+        int oldCount = mCount;
+        mCount = mLoadedEnd + mPageSize;
+        notifyItemRangeInserted(oldCount, mCount - oldCount);
+    }
+
+    private boolean canGrow() {
+        return !mIsEndReached && mSelectedPosition >= mLoadedEnd - mPageSize && mLoadedEnd + mPageSize > mCount;
+    }
+
+    @Override
+    public void onWheelSelectionChanged(WheelView wheelView, int rawPosition, int position) {
+        if (rawPosition != mRawSelectedPosition) mDirection = rawPosition > mRawSelectedPosition ? 1 : -1;
+        mRawSelectedPosition = rawPosition;
+        mSelectedPosition = position;
+        mIsRepeatable = wheelView.isRepeatableAdapter();
+
+        //load the page the wheel is moving towards before it is reached
+        int pageCount = getPageCount();
+        int nextPage = position / mPageSize + mDirection;
+        if (mIsRepeatable && pageCount > 0) nextPage = (nextPage + pageCount) % pageCount;
+        if (mMaxPages > 1 && nextPage >= 0 && nextPage < pageCount) load(nextPage);
+
+        //the wheel is in the middle of selecting, so the items are inserted afterwards
+        if (canGrow() && !mIsGrowPending && mHandler != null) {
+            mIsGrowPending = true;
+            final int generation = mGeneration;
+            mHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    mIsGrowPending = false;
+                    if (generation == mGeneration) growCount();
+                }
+            });
+        }
+    }
+
+    private int getPageCount() {
+        return (mCount + mPageSize - 1) / mPageSize;
+    }
+
+    /**
+     * The wheel keeps drawing the placeholders it was given, so after a delay the page's items are
+     * notified as changed for the wheel to ask for them, and the page to be loaded, again.
+     */
+    private void retryPage(final int generation, final int page) {
+        mHandler.postDelayed(new Runnable() {
+            @Override
+            public void run() {
+                if (generation != mGeneration) return;
+
+                int offset = page * mPageSize;
+                int itemCount = Math.min(mPageSize, mCount - offset);
+                if (itemCount > 0) notifyItemRangeChanged(offset, itemCount);
+            }
+        }, RETRY_DELAY_MILLIS);
+    }
+
+    /**
+     * Drops the loaded pages furthest from the selected item, measured around the wrap on a
+     * repeatable wheel.
+     */
+    private void trimPages() {
+        int pageCount = getPageCount();
+        int selectedPage = mSelectedPosition / mPageSize;
+        while (mPages.size() > mMaxPages) {
+            int furthestIndex = 0;
+            int furthestDistance = -1;
+            for (int i = 0; i < mPages.size(); i++) {
+                int page = mPages.keyAt(i);
+                int distance = Math.abs(page - selectedPage);
+                if (page >= pageCount) {
+                    distance = Integer.MAX_VALUE;
+                } else if (mIsRepeatable) {
+                    distance = Math.min(distance, pageCount - distance);
+                }
+                if (distance > furthestDistance) {
+                    furthestDistance = distance;
+                    furthestIndex = i;
+                }
+            }
+            mPages.removeAt(furthestIndex);
+        }
+    }
+
+    /**
+     * Loaded pages are delivered to the thread this is called on.
+     */
+    @Override
+    public void onAttachedToWheel(WheelView wheelView) {
+        mWheelView = wheelView;
+        mHandler = new Handler();
+    }
+
+    /**
+     * The results of pending loads are dropped, the loaded pages are kept.
+     */
+    @Override
+    public void onDetachedFromWheel(WheelView wheelView) {
+        mWheelView = null;
+        mHandler = null;
+        mGeneration++;
+        mLoadingPages.clear();
+    }
+
+    private void dropPages() {
+        mGeneration++;
+        mLoadingPages.clear();
+        mPages.clear();
+    }
+}
@@ -0,0 +1,89 @@
+package com.lukedeighton.wheelview.adapter;
+
+import android.graphics.drawable.Drawable;
+import android.util.SparseArray;
+
+import com.lukedeighton.wheelview.WheelView;
+
+import java.util.ArrayList;
+
+/**
+ * <p>
+ * A {@link WheelAdapter} that reuses drawables rather than creating one per position. The
+ * {@link WheelView} recycles the drawables of items that are no longer drawn, these are then bound
+ * to the positions that come into view. Spinning the wheel then uses a constant set of drawables.
+ * </p>
+ *
+ * <p>
+ * The drawable returned from {@link WheelView#getWheelItemDrawable(int)} may be rebound to another
+ * position once its item is no longer drawn, so don't hold on to it.
+ * </p>
+ */
+public abstract class RecyclingWheelAdapter<D extends Drawable> extends BaseWheelAdapter {
+
+    private static final int DEFAULT_MAX_RECYCLED_DRAWABLES = 8;
+
+    private final SparseArray<ArrayList<D>> mRecycledDrawables = new SparseArray<ArrayList<D>>();
+    private int mMaxRecycledDrawables = DEFAULT_MAX_RECYCLED_DRAWABLES;
+
+    /**
+     * @return a new drawable for the view type, which is then bound with {@link #bindDrawable}
+     */
+    protected abstract D createDrawable(int viewType);
+
+    /**
+     * Updates a new or recycled drawable to show the item at the adapter position.
+     */
+    protected abstract void bindDrawable(D drawable, int position);
+
+    /**
+     * Drawables are only reused between positions of the same view type.
+     *
+     * @return the view type of the item at the adapter position, 0 by default
+     */
+    public int getItemViewType(int position) {
+        return 0;
+    }
+
+    /**
+     * @param max the number of recycled drawables kept per view type
+     */
+    public void setMaxRecycledDrawables(int max) {
+        if (max < 0) throw new IllegalArgumentException("The max recycled drawables cannot be negative");
+        mMaxRecycledDrawables = max;
+    }
+
+    @Override
+    public final Drawable getDrawable(int position) {
+        int viewType = getItemViewType(position);
+        ArrayList<D> recycled = mRecycledDrawables.get(viewType);
+
+        D drawable;
+        if (recycled != null && !recycled.isEmpty()) {
+            drawable = recycled.remove(recycled.size() - 1);
+        } else {
+            drawable = createDrawable(viewType);
+        }
+        bindDrawable(drawable, position);
+        return drawable;
+    }
+
+    /**
+     * Called by the WheelView once a drawable it was given is no longer drawn. The item may have
+     * been removed or changed since, so the drawable is pooled by the view type it was bound as.
+     *
+     * @param viewType the view type of the item when the drawable was fetched
+     */
+    @SuppressWarnings("unchecked")
+    public void recycleDrawable(Drawable drawable, int viewType) {
+        ArrayList<D> recycled = mRecycledDrawables.get(viewType);
+        if (recycled == null) {
+            recycled = new ArrayList<D>(mMaxRecycledDrawables);
+            mRecycledDrawables.put(viewType, recycled);
+        }
+
+        if (recycled.size() < mMaxRecycledDrawables) {
+            recycled.add((D) drawable);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.lukedeighton.wheelview.adapter;
+
+import com.lukedeighton.wheelview.WheelView;
+
+/**
+ * <p>
+ * A {@link WheelAdapter} whose items can take up different angles of the wheel, for example a
+ * wider featured item. Items are scaled by their angle relative to the wheel's item angle.
+ * </p>
+ *
+ * <p>
+ * The angles are indexed when the adapter is set. If it is also a {@link BaseWheelAdapter}, notify
+ * changed angles like any other change to the items.
+ * </p>
+ *
+ * @see WheelView#getWheelItemAngle()
+ */
+public interface VariableAngleWheelAdapter extends WheelAdapter {
+
+    /**
+     * @param position the adapter position, between 0 and {@link #getCount()}.
+     * @return the angle in degrees the item takes up on the wheel, greater than 0.
+     */
+    float getItemAngle(int position);
+}
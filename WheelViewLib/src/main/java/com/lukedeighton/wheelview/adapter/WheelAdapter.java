@@ -16,6 +16,13 @@ import com.lukedeighton.wheelview.WheelView;
  *
  * <p>
  * It may be possible to properly implement an Adapter with recycling Views but for now this will do.
+ * If creating a drawable per position causes too much garbage whilst the wheel spins, use a
+ * {@link RecyclingWheelAdapter}.
+ * </p>
+ *
+ * <p>
+ * To change the items without calling {@link WheelView#setAdapter(WheelAdapter)} again, extend
+ * {@link BaseWheelAdapter} and notify the wheel of the items that changed.
  * </p>
  */
 public interface WheelAdapter {
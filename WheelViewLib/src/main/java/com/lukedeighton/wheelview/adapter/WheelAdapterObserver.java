@@ -0,0 +1,23 @@
+package com.lukedeighton.wheelview.adapter;
+
+/**
+ * Receives the changes made to a {@link BaseWheelAdapter}'s items. Positions are adapter positions
+ * and the methods are called after the adapter's data has changed.
+ */
+public abstract class WheelAdapterObserver {
+
+    /**
+     * Any of the items, including the count, may have changed.
+     */
+    public void onChanged() {
+    }
+
+    public void onItemRangeChanged(int positionStart, int itemCount) {
+    }
+
+    public void onItemRangeInserted(int positionStart, int itemCount) {
+    }
+
+    public void onItemRangeRemoved(int positionStart, int itemCount) {
+    }
+}
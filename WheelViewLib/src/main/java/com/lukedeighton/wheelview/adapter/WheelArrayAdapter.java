@@ -2,7 +2,7 @@ package com.lukedeighton.wheelview.adapter;
 
 import java.util.List;
 
-public abstract class WheelArrayAdapter<T> implements WheelAdapter {
+public abstract class WheelArrayAdapter<T> extends BaseWheelAdapter {
     private List<T> mItems;
 
     public WheelArrayAdapter(List<T> items) {
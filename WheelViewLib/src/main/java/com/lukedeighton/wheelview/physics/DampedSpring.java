@@ -0,0 +1,145 @@
+package com.lukedeighton.wheelview.physics;
+
+/**
+ * <p>
+ * A damped spring that pulls the wheel back to an anchor angle, used to stop a non-repeatable
+ * wheel at the first and last adapter items. Like {@link WheelPhysics} it is solved in closed
+ * form so the displacement can be evaluated at any time.
+ * </p>
+ *
+ * <p>
+ * The stiffness is given per second squared and the damping ratio follows the usual convention:
+ * below 1 the spring bounces, 1 is critically damped and above 1 is over damped.
+ * Displacements are in degrees, velocities in degrees per millisecond and times in milliseconds.
+ * </p>
+ */
+public class DampedSpring {
+
+    public static final float DEFAULT_STIFFNESS = 400f;
+    public static final float DEFAULT_DAMPING_RATIO = 1f;
+
+    //the spring is considered at rest once it can no longer move further than this many degrees
+    private static final double REST_DISPLACEMENT = 0.05;
+
+    private final float mStiffness;
+    private final float mDampingRatio;
+
+    //natural angular frequency in radians per millisecond
+    private final double mFrequency;
+
+    //x(t) is made from either (A cos(wt) + B sin(wt)) e^(rt), (A + Bt) e^(rt) or A e^(rt) + B e^(r2t)
+    private double mA, mB;
+    private double mRate, mRate2, mDampedFrequency;
+    private double mDuration;
+
+    public DampedSpring() {
+        this(DEFAULT_STIFFNESS, DEFAULT_DAMPING_RATIO);
+    }
+
+    public DampedSpring(float stiffness, float dampingRatio) {
+        if (stiffness <= 0f) throw new IllegalArgumentException("Invalid stiffness: " + stiffness);
+        if (dampingRatio <= 0f) throw new IllegalArgumentException("Invalid damping ratio: " + dampingRatio);
+
+        mStiffness = stiffness;
+        mDampingRatio = dampingRatio;
+        mFrequency = Math.sqrt(stiffness) / 1000.0;
+    }
+
+    public float getStiffness() {
+        return mStiffness;
+    }
+
+    public float getDampingRatio() {
+        return mDampingRatio;
+    }
+
+    /**
+     * Starts the spring from the given state, discarding any previous motion.
+     *
+     * @param displacement the distance from the anchor
+     * @param velocity the initial velocity
+     */
+    public void start(float displacement, float velocity) {
+        double x0 = displacement;
+        double v0 = velocity;
+        double w = mFrequency;
+        double zeta = mDampingRatio;
+        double amplitude;
+
+        if (zeta < 1) {
+            mRate = -zeta * w;
+            mDampedFrequency = w * Math.sqrt(1 - zeta * zeta);
+            mA = x0;
+            mB = (v0 - mRate * x0) / mDampedFrequency;
+            amplitude = Math.hypot(mA, mB);
+            mDuration = Math.log(amplitude / REST_DISPLACEMENT) / -mRate;
+        } else if (zeta == 1) {
+            mRate = -w;
+            mA = x0;
+            mB = v0 + w * x0;
+            //t e^(-wt/2) peaks at 2 / (e w) which bounds the (A + Bt) e^(-wt) envelope
+            amplitude = Math.abs(mA) + 2 * Math.abs(mB) / (Math.E * w);
+            mDuration = 2 * Math.log(amplitude / REST_DISPLACEMENT) / w;
+        } else {
+            double root = Math.sqrt(zeta * zeta - 1);
+            mRate = -w * (zeta - root);
+            mRate2 = -w * (zeta + root);
+            mB = (v0 - mRate * x0) / (mRate2 - mRate);
+            mA = x0 - mB;
+            amplitude = Math.abs(mA) + Math.abs(mB);
+            mDuration = Math.log(amplitude / REST_DISPLACEMENT) / -mRate;
+        }
+
+        if (amplitude <= REST_DISPLACEMENT) mDuration = 0;
+    }
+
+    /**
+     * @param time the time elapsed since {@link #start(float, float)} was called.
+     * @return the displacement from the anchor, or 0 once the spring has come to rest.
+     */
+    public float getDisplacement(float time) {
+        if (time >= mDuration) return 0f;
+        if (time < 0f) time = 0f;
+
+        double displacement;
+        if (mDampingRatio < 1f) {
+            double angle = mDampedFrequency * time;
+            displacement = Math.exp(mRate * time) * (mA * Math.cos(angle) + mB * Math.sin(angle));
+        } else if (mDampingRatio == 1f) {
+            displacement = Math.exp(mRate * time) * (mA + mB * time);
+        } else {
+            displacement = mA * Math.exp(mRate * time) + mB * Math.exp(mRate2 * time);
+        }
+        return (float) displacement;
+    }
+
+    /**
+     * @param time the time elapsed since {@link #start(float, float)} was called.
+     * @return the velocity, or 0 once the spring has come to rest.
+     */
+    public float getVelocity(float time) {
+        if (time >= mDuration) return 0f;
+        if (time < 0f) time = 0f;
+
+        double velocity;
+        if (mDampingRatio < 1f) {
+            double angle = mDampedFrequency * time;
+            double cos = Math.cos(angle);
+            double sin = Math.sin(angle);
+            velocity = Math.exp(mRate * time) * (mRate * (mA * cos + mB * sin)
+                    + mDampedFrequency * (mB * cos - mA * sin));
+        } else if (mDampingRatio == 1f) {
+            velocity = Math.exp(mRate * time) * (mB + mRate * (mA + mB * time));
+        } else {
+            velocity = mA * mRate * Math.exp(mRate * time) + mB * mRate2 * Math.exp(mRate2 * time);
+        }
+        return (float) velocity;
+    }
+
+    /**
+     * @return the time it takes for the spring to come to rest.
+     */
+    public float getDuration() {
+        return (float) mDuration;
+    }
+}
@@ -0,0 +1,129 @@
+package com.lukedeighton.wheelview.physics;
+
+/**
+ * <p>
+ * The default {@link WheelPhysics} which decelerates the wheel with a friction made up of a
+ * constant part and a part that grows with the square of the velocity:
+ * </p>
+ *
+ * <pre>dv/dt = -(velocityFriction * v^2 + constantFriction)</pre>
+ *
+ * <p>
+ * The equation is solved in closed form so the angle at any time is exact rather than being
+ * integrated one frame at a time.
+ * </p>
+ */
+public class FrictionPhysics implements WheelPhysics {
+
+    //The friction coefficients were originally tuned as a per frame decrement of the velocity
+    //at 60fps so they are converted here into their per millisecond equivalents
+    private static final float REFERENCE_FRAME_TIME = 1000f / 60f;
+    private static final float VELOCITY_FRICTION_COEFFICIENT = 0.015f / REFERENCE_FRAME_TIME;
+    private static final float CONSTANT_FRICTION_COEFFICIENT = 0.0028f / REFERENCE_FRAME_TIME;
+
+    private final double mVelocityFriction;
+    private final double mConstantFriction;
+
+    //the friction of the current fling, which is scaled when the final angle is adjusted
+    private double mFlingVelocityFriction;
+    private double mFlingConstantFriction;
+
+    private float mSign;
+    private double mPhase;
+    private double mDuration;
+    private double mFinalAngle;
+
+    public FrictionPhysics() {
+        this(VELOCITY_FRICTION_COEFFICIENT, CONSTANT_FRICTION_COEFFICIENT);
+    }
+
+    /**
+     * @param velocityFriction the friction coefficient (per degree) applied to the square of the velocity.
+     * @param constantFriction the constant deceleration in degrees per millisecond squared.
+     */
+    public FrictionPhysics(float velocityFriction, float constantFriction) {
+        if (velocityFriction < 0f) throw new IllegalArgumentException("Invalid velocity friction: " + velocityFriction);
+        if (constantFriction <= 0f) throw new IllegalArgumentException("Invalid constant friction: " + constantFriction);
+
+        mVelocityFriction = velocityFriction;
+        mConstantFriction = constantFriction;
+    }
+
+    @Override
+    public void fling(float velocity) {
+        double speed = Math.abs(velocity);
+        mSign = Math.signum(velocity);
+        mFlingVelocityFriction = mVelocityFriction;
+        mFlingConstantFriction = mConstantFriction;
+
+        double k = mFlingVelocityFriction;
+        double c = mFlingConstantFriction;
+        if (k == 0) {
+            mDuration = speed / c;
+            mFinalAngle = speed * speed / (2 * c);
+        } else {
+            //v(t) = sqrt(c/k) * tan(phase - sqrt(kc) * t)
+            mPhase = Math.atan(speed * Math.sqrt(k / c));
+            mDuration = mPhase / Math.sqrt(k * c);
+            mFinalAngle = Math.log(1 + speed * speed * k / c) / (2 * k);
+        }
+    }
+
+    @Override
+    public float getAngle(float time) {
+        if (time >= mDuration) return getFinalAngle();
+        if (time <= 0f) return 0f;
+
+        double k = mFlingVelocityFriction;
+        double c = mFlingConstantFriction;
+        double angle;
+        if (k == 0) {
+            angle = (mDuration * c - c * time / 2) * time;
+        } else {
+            angle = Math.log(Math.cos(mPhase - Math.sqrt(k * c) * time) / Math.cos(mPhase)) / k;
+        }
+        return mSign * (float) angle;
+    }
+
+    @Override
+    public float getVelocity(float time) {
+        if (time >= mDuration) return 0f;
+        if (time < 0f) time = 0f;
+
+        double k = mFlingVelocityFriction;
+        double c = mFlingConstantFriction;
+        double speed;
+        if (k == 0) {
+            speed = c * (mDuration - time);
+        } else {
+            speed = Math.sqrt(c / k) * Math.tan(mPhase - Math.sqrt(k * c) * time);
+        }
+        return mSign * (float) speed;
+    }
+
+    @Override
+    public float getDuration() {
+        return (float) mDuration;
+    }
+
+    @Override
+    public float getFinalAngle() {
+        return mSign * (float) mFinalAngle;
+    }
+
+    @Override
+    public void setFinalAngle(float angle) {
+        double distance = angle * mSign;
+        if (distance <= 0 || mFinalAngle == 0) {
+            throw new IllegalArgumentException("Final angle " + angle + " cannot be reached from the current fling");
+        }
+
+        //scaling both coefficients by the same factor leaves the phase unchanged whilst the
+        //distance travelled and the duration are both inversely proportional to the factor
+        double scale = mFinalAngle / distance;
+        mFlingVelocityFriction *= scale;
+        mFlingConstantFriction *= scale;
+        mDuration /= scale;
+        mFinalAngle = distance;
+    }
+}
@@ -0,0 +1,52 @@
+package com.lukedeighton.wheelview.physics;
+
+/**
+ * <p>
+ * Describes how the wheel moves once it has been flung. Implementations must be able to evaluate
+ * the motion at any point in time since the fling started, rather than stepping it frame by frame,
+ * so that the wheel follows the same trajectory regardless of the display's refresh rate.
+ * </p>
+ *
+ * <p>
+ * Angles are in degrees, velocities are in degrees per millisecond and times are in milliseconds.
+ * </p>
+ */
+public interface WheelPhysics {
+
+    /**
+     * Starts a new fling, discarding any previous one.
+     *
+     * @param velocity the angular velocity at the time of release, can be negative.
+     */
+    void fling(float velocity);
+
+    /**
+     * @param time the time elapsed since {@link #fling(float)} was called.
+     * @return the angle travelled since the start of the fling.
+     */
+    float getAngle(float time);
+
+    /**
+     * @param time the time elapsed since {@link #fling(float)} was called.
+     * @return the angular velocity at this time, or 0 once the wheel has come to rest.
+     */
+    float getVelocity(float time);
+
+    /**
+     * @return the time it takes for the wheel to come to rest.
+     */
+    float getDuration();
+
+    /**
+     * @return the angle travelled by the time the wheel comes to rest.
+     */
+    float getFinalAngle();
+
+    /**
+     * Adjusts the deceleration of the current fling, without changing its initial velocity, so
+     * that the wheel comes to rest after travelling exactly the given angle.
+     *
+     * @param angle must be non-zero and in the same direction as the fling's velocity.
+     */
+    void setFinalAngle(float angle);
+}
@@ -0,0 +1,15 @@
+package com.lukedeighton.wheelview.transformer;
+
+import com.lukedeighton.wheelview.WheelView;
+
+/**
+ * Implemented alongside {@link WheelItemTransformer} to also control how each item's drawable is
+ * drawn within its bounds. Items with a greater elevation are drawn on top of overlapping items.
+ */
+public interface BatchItemDrawTransformer {
+    /**
+     * Writes the alpha (between 0 and 255), the rotation in degrees about the bounds' center and
+     * the elevation of each item in the batch.
+     */
+    void transform(WheelView.ItemBatch batch, int[] alphas, float[] rotations, float[] elevations);
+}
@@ -0,0 +1,16 @@
+package com.lukedeighton.wheelview.transformer;
+
+import com.lukedeighton.wheelview.WheelView;
+
+/**
+ * A {@link WheelItemTransformer} that can also transform every item visited in a frame with a
+ * single call. The WheelView uses the batch method when drawing and the per item method elsewhere,
+ * so both must produce the same bounds.
+ */
+public interface BatchItemTransformer extends WheelItemTransformer {
+    /**
+     * Writes the draw bounds of each item in the batch into the bounds array as consecutive
+     * left, top, right and bottom values.
+     */
+    void transform(WheelView.ItemBatch batch, int[] bounds);
+}
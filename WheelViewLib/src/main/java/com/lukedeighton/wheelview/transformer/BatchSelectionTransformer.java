@@ -0,0 +1,14 @@
+package com.lukedeighton.wheelview.transformer;
+
+import com.lukedeighton.wheelview.WheelView;
+
+/**
+ * A {@link WheelSelectionTransformer} that only changes the selection drawable's alpha, which can
+ * then be found for every item visited in a frame with a single call.
+ */
+public interface BatchSelectionTransformer extends WheelSelectionTransformer {
+    /**
+     * Writes the selection drawable's alpha, between 0 and 255, for each item in the batch.
+     */
+    void transform(WheelView.ItemBatch batch, int[] alphas);
+}
@@ -0,0 +1,52 @@
+package com.lukedeighton.wheelview.transformer;
+
+import android.graphics.drawable.Drawable;
+
+import com.lukedeighton.wheelview.WheelView;
+
+/**
+ * Fades the selection drawable out along a {@link CurveTable} as the selected item moves away from
+ * the selection angle. A {@link CurveTable#power(float)} of 2.5 with a max relative position of 1
+ * fades in the same way as {@link FadingSelectionTransformer}.
+ */
+public class CurveSelectionTransformer implements BatchSelectionTransformer {
+
+    private final CurveTable mCurve;
+    private final float mMaxRelativePosition;
+
+    /**
+     * @param curve from 0 at the selection angle to 1 where the drawable is fully transparent
+     * @param maxRelativePosition the relative position where the drawable becomes fully transparent
+     */
+    public CurveSelectionTransformer(CurveTable curve, float maxRelativePosition) {
+        if (curve == null) throw new IllegalArgumentException("CurveTable cannot be null");
+        if (maxRelativePosition <= 0f)
+            throw new IllegalArgumentException("The max relative position must be positive");
+
+        mCurve = curve;
+        mMaxRelativePosition = maxRelativePosition;
+    }
+
+    @Override
+    public void transform(Drawable drawable, WheelView.ItemState itemState) {
+        drawable.setAlpha(computeAlpha(itemState.getRelativePosition()));
+    }
+
+    @Override
+    public void transform(WheelView.ItemBatch batch, int[] alphas) {
+        float[] relativePositions = batch.getRelativePositions();
+        for (int i = 0, count = batch.getCount(); i < count; i++) {
+            alphas[i] = computeAlpha(relativePositions[i]);
+        }
+    }
+
+    private int computeAlpha(float relativePosition) {
+        int alpha = (int) ((1f - mCurve.getValue(Math.abs(relativePosition) / mMaxRelativePosition)) * 255f);
+
+        //clamp to between 0 and 255
+        if (alpha > 255) alpha = 255;
+        else if (alpha < 0) alpha = 0;
+
+        return alpha;
+    }
+}
@@ -0,0 +1,121 @@
+package com.lukedeighton.wheelview.transformer;
+
+/**
+ * <p>
+ * A curve sampled into a fixed size table when it is constructed, so that evaluating it whilst
+ * drawing is a linear interpolation between two samples rather than a call to the curve.
+ * </p>
+ *
+ * <p>
+ * Curves are defined between 0 and 1, values outside of that range are clamped.
+ * </p>
+ */
+public final class CurveTable {
+
+    public static final int DEFAULT_SIZE = 256;
+
+    private static final int BEZIER_ITERATIONS = 24;
+
+    public interface Curve {
+        /**
+         * @param x between 0 and 1 inclusive
+         */
+        float getValue(float x);
+    }
+
+    private final float[] mTable;
+    private final float mScale;
+    private float mMinValue = Float.MAX_VALUE;
+    private float mMaxValue = -Float.MAX_VALUE;
+
+    public CurveTable(Curve curve) {
+        this(curve, DEFAULT_SIZE);
+    }
+
+    /**
+     * @param size the number of samples, at least 2
+     */
+    public CurveTable(Curve curve, int size) {
+        if (curve == null) throw new IllegalArgumentException("Curve cannot be null");
+        if (size < 2) throw new IllegalArgumentException("A curve table needs at least 2 samples");
+
+        mTable = new float[size];
+        mScale = size - 1;
+        for (int i = 0; i < size; i++) {
+            mTable[i] = curve.getValue(i / mScale);
+            mMinValue = Math.min(mMinValue, mTable[i]);
+            mMaxValue = Math.max(mMaxValue, mTable[i]);
+        }
+    }
+
+    /**
+     * @return the smallest value of the curve, which can be below 0 for curves that overshoot
+     */
+    public float getMinValue() {
+        return mMinValue;
+    }
+
+    /**
+     * @return the largest value of the curve, which can be above 1 for curves that overshoot
+     */
+    public float getMaxValue() {
+        return mMaxValue;
+    }
+
+    public float getValue(float x) {
+        if (x <= 0f) return mTable[0];
+        if (x >= 1f) return mTable[mTable.length - 1];
+
+        float position = x * mScale;
+        int index = (int) position;
+        float start = mTable[index];
+        return start + (mTable[index + 1] - start) * (position - index);
+    }
+
+    public static CurveTable linear() {
+        return power(1f);
+    }
+
+    /**
+     * @return the curve x to the power of the exponent
+     */
+    public static CurveTable power(final float exponent) {
+        return new CurveTable(new Curve() {
+            @Override
+            public float getValue(float x) {
+                return (float) Math.pow(x, exponent);
+            }
+        });
+    }
+
+    /**
+     * @return a cubic bezier curve from (0, 0) to (1, 1) with the two given control points, in the
+     * same way as a CSS easing function
+     */
+    public static CurveTable cubicBezier(final float x1, final float y1, final float x2, final float y2) {
+        if (x1 < 0f || x1 > 1f || x2 < 0f || x2 > 1f)
+            throw new IllegalArgumentException("The control points' x values must be between 0 and 1");
+
+        return new CurveTable(new Curve() {
+            @Override
+            public float getValue(float x) {
+                //x is monotonic in t so t can be found with a bisection
+                float low = 0f, high = 1f;
+                for (int i = 0; i < BEZIER_ITERATIONS; i++) {
+                    float t = (low + high) / 2f;
+                    if (bezier(t, x1, x2) < x) {
+                        low = t;
+                    } else {
+                        high = t;
+                    }
+                }
+                return bezier((low + high) / 2f, y1, y2);
+            }
+        });
+    }
+
+    private static float bezier(float t, float p1, float p2) {
+        float u = 1f - t;
+        return 3f * u * u * t * p1 + 3f * u * t * t * p2 + t * t * t;
+    }
+}
@@ -0,0 +1,165 @@
+package com.lukedeighton.wheelview.transformer;
+
+import android.graphics.Rect;
+
+import com.lukedeighton.wheelview.Circle;
+import com.lukedeighton.wheelview.WheelView;
+
+/**
+ * <p>
+ * Transforms the items' scale, alpha, rotation and elevation along {@link CurveTable}s, from their
+ * value at the selection angle to their value at a given relative position away from it.
+ * </p>
+ *
+ * <p>
+ * Each property is unchanged until its curve is set, for example an item that fades and shrinks
+ * away from the selection:
+ * </p>
+ *
+ * <pre>
+ * CurveTransformer transformer = new CurveTransformer(4f);
+ * transformer.setScaleCurve(CurveTable.cubicBezier(0.4f, 0f, 0.2f, 1f), 1.2f, 0.8f);
+ * transformer.setAlphaCurve(CurveTable.power(2.5f), 255, 64);
+ * </pre>
+ *
+ * @see WheelView.ItemState#getRelativePosition()
+ */
+public class CurveTransformer implements BatchItemTransformer, BatchItemDrawTransformer {
+
+    private final float mMaxRelativePosition;
+
+    private CurveTable mScaleCurve;
+    private float mSelectedScale;
+    private float mScaleRange;
+    private float mMaxScale = 1f;
+
+    private CurveTable mAlphaCurve;
+    private float mSelectedAlpha;
+    private float mAlphaRange;
+
+    private CurveTable mRotationCurve;
+    private float mSelectedRotation;
+    private float mRotationRange;
+
+    private CurveTable mElevationCurve;
+    private float mSelectedElevation;
+    private float mElevationRange;
+
+    /**
+     * @param maxRelativePosition the relative position where the curves end, items further away
+     *                            take the curves' end values
+     */
+    public CurveTransformer(float maxRelativePosition) {
+        if (maxRelativePosition <= 0f)
+            throw new IllegalArgumentException("The max relative position must be positive");
+
+        mMaxRelativePosition = maxRelativePosition;
+    }
+
+    /**
+     * The {@link WheelView} culls items using the largest scale along the curve, so any scale can
+     * be used without items disappearing whilst they are partly on screen.
+     */
+    public void setScaleCurve(CurveTable curve, float selectedScale, float endScale) {
+        mScaleCurve = curve;
+        mSelectedScale = selectedScale;
+        mScaleRange = endScale - selectedScale;
+        mMaxScale = curve == null ? 1f : Math.max(selectedScale + mScaleRange * curve.getMinValue(),
+                selectedScale + mScaleRange * curve.getMaxValue());
+    }
+
+    /**
+     * @return the largest scale any item is drawn at, including where the scale curve overshoots
+     */
+    public float getMaxScale() {
+        return mMaxScale;
+    }
+
+    /**
+     * @param selectedAlpha between 0 and 255
+     * @param endAlpha between 0 and 255
+     */
+    public void setAlphaCurve(CurveTable curve, int selectedAlpha, int endAlpha) {
+        mAlphaCurve = curve;
+        mSelectedAlpha = selectedAlpha;
+        mAlphaRange = endAlpha - selectedAlpha;
+    }
+
+    /**
+     * The rotation is mirrored either side of the selection angle.
+     */
+    public void setRotationCurve(CurveTable curve, float selectedDegrees, float endDegrees) {
+        mRotationCurve = curve;
+        mSelectedRotation = selectedDegrees;
+        mRotationRange = endDegrees - selectedDegrees;
+    }
+
+    public void setElevationCurve(CurveTable curve, float selectedElevation, float endElevation) {
+        mElevationCurve = curve;
+        mSelectedElevation = selectedElevation;
+        mElevationRange = endElevation - selectedElevation;
+    }
+
+    private float getCurvePosition(float relativePosition) {
+        return Math.abs(relativePosition) / mMaxRelativePosition;
+    }
+
+    private float getScale(float curvePosition) {
+        if (mScaleCurve == null) return 1f;
+        return mSelectedScale + mScaleRange * mScaleCurve.getValue(curvePosition);
+    }
+
+    @Override
+    public void transform(WheelView.ItemState itemState, Rect itemBounds) {
+        Circle bounds = itemState.getBounds();
+        float radius = bounds.getRadius() * getScale(getCurvePosition(itemState.getRelativePosition()));
+        float x = bounds.getCenterX();
+        float y = bounds.getCenterY();
+        itemBounds.set(Math.round(x - radius), Math.round(y - radius), Math.round(x + radius), Math.round(y + radius));
+    }
+
+    @Override
+    public void transform(WheelView.ItemBatch batch, int[] bounds) {
+        float[] centerX = batch.getCenterX();
+        float[] centerY = batch.getCenterY();
+        float[] radii = batch.getRadii();
+        float[] relativePositions = batch.getRelativePositions();
+        for (int i = 0, count = batch.getCount(); i < count; i++) {
+            float radius = radii[i] * getScale(getCurvePosition(relativePositions[i]));
+            float x = centerX[i];
+            float y = centerY[i];
+            int j = i * 4;
+            bounds[j] = Math.round(x - radius);
+            bounds[j + 1] = Math.round(y - radius);
+            bounds[j + 2] = Math.round(x + radius);
+            bounds[j + 3] = Math.round(y + radius);
+        }
+    }
+
+    @Override
+    public void transform(WheelView.ItemBatch batch, int[] alphas, float[] rotations, float[] elevations) {
+        float[] relativePositions = batch.getRelativePositions();
+        for (int i = 0, count = batch.getCount(); i < count; i++) {
+            float relativePosition = relativePositions[i];
+            float curvePosition = getCurvePosition(relativePosition);
+
+            int alpha = 255;
+            if (mAlphaCurve != null) {
+                alpha = Math.round(mSelectedAlpha + mAlphaRange * mAlphaCurve.getValue(curvePosition));
+                if (alpha > 255) alpha = 255;
+                else if (alpha < 0) alpha = 0;
+            }
+            alphas[i] = alpha;
+
+            float rotation = 0f;
+            if (mRotationCurve != null) {
+                rotation = mSelectedRotation + mRotationRange * mRotationCurve.getValue(curvePosition);
+                if (relativePosition < 0f) rotation = -rotation;
+            }
+            rotations[i] = rotation;
+
+            elevations[i] = mElevationCurve == null ? 0f
+                    : mSelectedElevation + mElevationRange * mElevationCurve.getValue(curvePosition);
+        }
+    }
+}
@@ -4,17 +4,32 @@ import android.graphics.drawable.Drawable;
 
 import com.lukedeighton.wheelview.WheelView;
 
-public class FadingSelectionTransformer implements WheelSelectionTransformer  {
+public class FadingSelectionTransformer implements BatchSelectionTransformer {
 
     @Override
     public void transform(Drawable drawable, WheelView.ItemState itemState) {
-        float relativePosition = Math.abs(itemState.getRelativePosition());
-        int alpha = (int) ((1f - Math.pow(relativePosition, 2.5f)) * 255f);
+        drawable.setAlpha(computeAlpha(itemState.getRelativePosition()));
+    }
+
+    @Override
+    public void transform(WheelView.ItemBatch batch, int[] alphas) {
+        float[] relativePositions = batch.getRelativePositions();
+        for (int i = 0, count = batch.getCount(); i < count; i++) {
+            alphas[i] = computeAlpha(relativePositions[i]);
+        }
+    }
+
+    private static int computeAlpha(float relativePosition) {
+        relativePosition = Math.abs(relativePosition);
+
+        //the relative position to the power of 2.5
+        float power = relativePosition * relativePosition * (float) Math.sqrt(relativePosition);
+        int alpha = (int) ((1f - power) * 255f);
 
         //clamp to between 0 and 255
         if (alpha > 255) alpha = 255;
         else if (alpha < 0) alpha = 0;
 
-        drawable.setAlpha(alpha);
+        return alpha;
     }
 }
@@ -0,0 +1,19 @@
+package com.lukedeighton.wheelview.transformer;
+
+/**
+ * <p>
+ * A marker for {@link WheelItemTransformer}s whose item bounds only depend on the item's center and
+ * radius, and not on its angle or relative position. Rotating the wheel then just rotates the
+ * previous frame, so the {@link com.lukedeighton.wheelview.WheelView} can draw the items once into
+ * a cached layer and rotate that instead of redrawing every item.
+ * </p>
+ *
+ * <p>
+ * The cached layer also rotates the item drawables, so it is only used once enabled with
+ * {@link com.lukedeighton.wheelview.WheelView#setRotationCacheEnabled(boolean)}.
+ * </p>
+ *
+ * @see SimpleItemTransformer
+ */
+public interface RotationInvariantTransformer {
+}
@@ -5,15 +5,36 @@ import android.graphics.Rect;
 import com.lukedeighton.wheelview.Circle;
 import com.lukedeighton.wheelview.WheelView;
 
-public class ScalingItemTransformer implements WheelItemTransformer {
+public class ScalingItemTransformer implements BatchItemTransformer {
     @Override
     public void transform(WheelView.ItemState itemState, Rect itemBounds) {
-        float scale = itemState.getAngleFromSelection() * 0.014f;
-        scale = Math.min(1.12f, 1.15f - Math.min(0.25f, Math.abs(scale)));
         Circle bounds = itemState.getBounds();
-        float radius = bounds.getRadius() * scale;
+        float radius = bounds.getRadius() * computeScale(itemState.getAngleFromSelection());
         float x = bounds.getCenterX();
         float y = bounds.getCenterY();
         itemBounds.set(Math.round(x - radius), Math.round(y - radius), Math.round(x + radius), Math.round(y + radius));
     }
+
+    @Override
+    public void transform(WheelView.ItemBatch batch, int[] bounds) {
+        float[] centerX = batch.getCenterX();
+        float[] centerY = batch.getCenterY();
+        float[] radii = batch.getRadii();
+        float[] anglesFromSelection = batch.getAnglesFromSelection();
+        for (int i = 0, count = batch.getCount(); i < count; i++) {
+            float radius = radii[i] * computeScale(anglesFromSelection[i]);
+            float x = centerX[i];
+            float y = centerY[i];
+            int j = i * 4;
+            bounds[j] = Math.round(x - radius);
+            bounds[j + 1] = Math.round(y - radius);
+            bounds[j + 2] = Math.round(x + radius);
+            bounds[j + 3] = Math.round(y + radius);
+        }
+    }
+
+    private static float computeScale(float angleFromSelection) {
+        float scale = angleFromSelection * 0.014f;
+        return Math.min(1.12f, 1.15f - Math.min(0.25f, Math.abs(scale)));
+    }
 }
@@ -5,7 +5,7 @@ import android.graphics.Rect;
 import com.lukedeighton.wheelview.Circle;
 import com.lukedeighton.wheelview.WheelView;
 
-public class SimpleItemTransformer implements WheelItemTransformer {
+public class SimpleItemTransformer implements BatchItemTransformer, RotationInvariantTransformer {
     @Override
     public void transform(WheelView.ItemState itemState, Rect itemBounds) {
         Circle bounds = itemState.getBounds();
@@ -14,4 +14,21 @@ public class SimpleItemTransformer implements WheelItemTransformer {
         float y = bounds.getCenterY();
         itemBounds.set(Math.round(x - radius), Math.round(y - radius), Math.round(x + radius), Math.round(y + radius));
     }
+
+    @Override
+    public void transform(WheelView.ItemBatch batch, int[] bounds) {
+        float[] centerX = batch.getCenterX();
+        float[] centerY = batch.getCenterY();
+        float[] radii = batch.getRadii();
+        for (int i = 0, count = batch.getCount(); i < count; i++) {
+            float radius = radii[i];
+            float x = centerX[i];
+            float y = centerY[i];
+            int j = i * 4;
+            bounds[j] = Math.round(x - radius);
+            bounds[j + 1] = Math.round(y - radius);
+            bounds[j + 2] = Math.round(x + radius);
+            bounds[j + 3] = Math.round(y + radius);
+        }
+    }
 }
@@ -0,0 +1,161 @@
+package com.lukedeighton.wheelview;
+
+import android.graphics.drawable.Drawable;
+
+import com.lukedeighton.wheelview.adapter.VariableAngleWheelAdapter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ItemAngleIndexTest {
+
+    private static final float DELTA = 1e-4f;
+
+    @Test
+    public void rebuildIndexesPrefixSums() {
+        float[] angles = angles(37);
+        ItemAngleIndex index = new ItemAngleIndex();
+        index.rebuild(new Adapter(angles), angles.length);
+
+        assertEquals(angles.length, index.getCount());
+        assertStartAngles(angles, angles.length, index);
+    }
+
+    @Test
+    public void rebuildWithFewerItemsReusesArrays() {
+        float[] angles = angles(40);
+        ItemAngleIndex index = new ItemAngleIndex();
+        index.rebuild(new Adapter(angles), angles.length);
+        index.rebuild(new Adapter(angles), 11);
+
+        assertEquals(11, index.getCount());
+        assertStartAngles(angles, 11, index);
+    }
+
+    @Test
+    public void appendMatchesRebuild() {
+        float[] angles = angles(100);
+        ItemAngleIndex index = new ItemAngleIndex();
+        index.rebuild(new Adapter(angles), 3);
+
+        //grows past the initial capacity several times
+        for (int i = 3; i < angles.length; i++) {
+            index.append(angles[i]);
+            assertStartAngles(angles, i + 1, index);
+        }
+    }
+
+    @Test
+    public void setUpdatesFollowingStartAngles() {
+        float[] angles = angles(25);
+        ItemAngleIndex index = new ItemAngleIndex();
+        index.rebuild(new Adapter(angles), angles.length);
+
+        for (int i = 0; i < angles.length; i += 3) {
+            angles[i] = 20f - i * 0.5f;
+            index.set(i, angles[i]);
+        }
+        assertStartAngles(angles, angles.length, index);
+    }
+
+    @Test
+    public void findPositionReturnsTheItemContainingTheAngle() {
+        float[] angles = angles(50);
+        ItemAngleIndex index = new ItemAngleIndex();
+        index.rebuild(new Adapter(angles), angles.length);
+
+        float start = 0f;
+        for (int i = 0; i < angles.length; i++) {
+            assertEquals(i, index.findPosition(start));
+            assertEquals(i, index.findPosition(start + angles[i] / 2f));
+            assertEquals(i, index.findPosition(start + angles[i] - 0.25f));
+            start += angles[i];
+        }
+    }
+
+    @Test
+    public void findPositionClampsToTheFirstAndLastItems() {
+        float[] angles = angles(9);
+        ItemAngleIndex index = new ItemAngleIndex();
+        index.rebuild(new Adapter(angles), angles.length);
+
+        assertEquals(0, index.findPosition(-10f));
+        assertEquals(8, index.findPosition(index.getTotalAngle()));
+        assertEquals(8, index.findPosition(index.getTotalAngle() + 100f));
+    }
+
+    @Test
+    public void maxAngleIsTheLargestItem() {
+        ItemAngleIndex index = new ItemAngleIndex();
+        index.rebuild(new Adapter(new float[] {2f, 7f, 3f}), 3);
+        assertEquals(7f, index.getMaxAngle(), DELTA);
+
+        index.append(9f);
+        assertEquals(9f, index.getMaxAngle(), DELTA);
+
+        index.rebuild(new Adapter(new float[] {1f, 4f}), 2);
+        assertEquals(4f, index.getMaxAngle(), DELTA);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsZeroAngles() {
+        new ItemAngleIndex().rebuild(new Adapter(new float[] {5f, 0f}), 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeAngles() {
+        ItemAngleIndex index = new ItemAngleIndex();
+        index.rebuild(new Adapter(new float[] {5f}), 1);
+        index.set(0, -1f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNaNAngles() {
+        new ItemAngleIndex().append(Float.NaN);
+    }
+
+    /**
+     * @return angles in multiples of 0.5 so that the sums are exact
+     */
+    private static float[] angles(int count) {
+        float[] angles = new float[count];
+        for (int i = 0; i < count; i++) {
+            angles[i] = 1f + (i * 7 % 11) * 0.5f;
+        }
+        return angles;
+    }
+
+    private static void assertStartAngles(float[] angles, int count, ItemAngleIndex index) {
+        float start = 0f;
+        for (int i = 0; i < count; i++) {
+            assertEquals(angles[i], index.getAngle(i), DELTA);
+            assertEquals(start, index.getStartAngle(i), DELTA);
+            start += angles[i];
+        }
+        assertEquals(start, index.getTotalAngle(), DELTA);
+    }
+
+    private static class Adapter implements VariableAngleWheelAdapter {
+        private final float[] mAngles;
+
+        Adapter(float[] angles) {
+            mAngles = angles;
+        }
+
+        @Override
+        public float getItemAngle(int position) {
+            return mAngles[position];
+        }
+
+        @Override
+        public Drawable getDrawable(int position) {
+            return null;
+        }
+
+        @Override
+        public int getCount() {
+            return mAngles.length;
+        }
+    }
+}
@@ -11,7 +11,7 @@ import android.view.MenuItem;
 import android.widget.Toast;
 
 import com.lukedeighton.wheelview.WheelView;
-import com.lukedeighton.wheelview.adapter.WheelArrayAdapter;
+import com.lukedeighton.wheelview.adapter.RecyclingWheelAdapter;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -90,24 +90,35 @@ public class MainActivity extends Activity {
         return super.onOptionsItemSelected(item);
     }
 
-    static class MaterialColorAdapter extends WheelArrayAdapter<Map.Entry<String, Integer>> {
+    static class MaterialColorAdapter extends RecyclingWheelAdapter<LayerDrawable> {
+        private final List<Map.Entry<String, Integer>> mEntries;
+
         MaterialColorAdapter(List<Map.Entry<String, Integer>> entries) {
-            super(entries);
+            mEntries = entries;
+        }
+
+        public Map.Entry<String, Integer> getItem(int position) {
+            return mEntries.get(position);
         }
 
         @Override
-        public Drawable getDrawable(int position) {
+        public int getCount() {
+            return mEntries.size();
+        }
+
+        @Override
+        protected LayerDrawable createDrawable(int viewType) {
             Drawable[] drawable = new Drawable[] {
-                    createOvalDrawable(getItem(position).getValue()),
-                    new TextDrawable(String.valueOf(position))
+                    new ShapeDrawable(new OvalShape()),
+                    new TextDrawable("")
             };
             return new LayerDrawable(drawable);
         }
 
-        private Drawable createOvalDrawable(int color) {
-            ShapeDrawable shapeDrawable = new ShapeDrawable(new OvalShape());
-            shapeDrawable.getPaint().setColor(color);
-            return shapeDrawable;
+        @Override
+        protected void bindDrawable(LayerDrawable drawable, int position) {
+            ((ShapeDrawable) drawable.getDrawable(0)).getPaint().setColor(getItem(position).getValue());
+            ((TextDrawable) drawable.getDrawable(1)).setText(String.valueOf(position));
         }
     }
-}
\ No newline at end of file
+}
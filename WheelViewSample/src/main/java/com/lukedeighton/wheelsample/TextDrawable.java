@@ -10,7 +10,7 @@ import android.graphics.drawable.Drawable;
 
 public class TextDrawable extends Drawable {
 
-    private final String text;
+    private String text;
     private final Paint paint;
 
     public TextDrawable(String text) {
@@ -51,4 +51,9 @@ public class TextDrawable extends Drawable {
     public String getText() {
         return text;
     }
+
+    public void setText(String text) {
+        this.text = text;
+        invalidateSelf();
+    }
 }
\ No newline at end of file